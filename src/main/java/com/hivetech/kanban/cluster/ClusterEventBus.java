@@ -0,0 +1,32 @@
+package com.hivetech.kanban.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries messages between the instances of the application, so that state kept in memory by every instance,
+ * such as caches and websocket subscriptions, follows writes made on any of them. A message published on one
+ * instance is delivered to the subscribers of its topic on that instance right away, and on every other
+ * instance shortly after.
+ * <p>
+ * The implementation is chosen with {@code kanban.cluster.event-bus}: {@code local} (the default) for a single
+ * instance, or {@code postgres} to relay the messages through PostgreSQL {@code LISTEN}/{@code NOTIFY}.
+ */
+public interface ClusterEventBus {
+
+    /**
+     * Delivers the message to the subscribers of the topic on this instance, on the calling thread, and hands
+     * it on to the other instances.
+     * @param topic the topic of the message
+     * @param message the message; must be serializable to JSON
+     */
+    void publish(String topic, Object message);
+
+    /**
+     * Registers a subscriber for the messages of a topic published on any instance.
+     * @param topic the topic to subscribe to
+     * @param type the type the messages of the topic are read as
+     * @param subscriber called with every message of the topic
+     * @throws IllegalArgumentException if the topic was already subscribed to with another type
+     */
+    <T> void subscribe(String topic, Class<T> type, Consumer<T> subscriber);
+}
@@ -0,0 +1,64 @@
+package com.hivetech.kanban.cluster;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The {@link ClusterEventBus} of a single instance: messages are only delivered to the subscribers of this
+ * instance. Also used by the other implementations for their local delivery.
+ */
+@Component
+@ConditionalOnProperty(name = "kanban.cluster.event-bus", havingValue = "local", matchIfMissing = true)
+public class LocalClusterEventBus implements ClusterEventBus {
+    private final Logger logger = Logger.getLogger(String.valueOf(LocalClusterEventBus.class));
+
+    private final Map<String, Subscription> subscriptions = new ConcurrentHashMap<>();
+
+    @Override
+    public void publish(String topic, Object message) {
+        Subscription subscription = subscriptions.get(topic);
+        if (subscription == null) {
+            return;
+        }
+        // one failing subscriber must not keep the message from the others
+        for (Consumer<Object> subscriber : subscription.subscribers()) {
+            try {
+                subscriber.accept(message);
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Subscriber of " + topic + " failed", e);
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> void subscribe(String topic, Class<T> type, Consumer<T> subscriber) {
+        Subscription subscription = subscriptions.computeIfAbsent(topic,
+                key -> new Subscription(type, new CopyOnWriteArrayList<>()));
+        if (subscription.type() != type) {
+            throw new IllegalArgumentException("Topic " + topic + " carries " + subscription.type().getName()
+                    + ", not " + type.getName());
+        }
+        subscription.subscribers().add(message -> subscriber.accept((T) message));
+    }
+
+    /**
+     * @param topic the topic
+     * @return the type the messages of the topic are read as, or null if nobody subscribed to it
+     */
+    Class<?> typeOf(String topic) {
+        Subscription subscription = subscriptions.get(topic);
+        return subscription != null ? subscription.type() : null;
+    }
+
+    private record Subscription(Class<?> type, List<Consumer<Object>> subscribers) {
+    }
+}
@@ -0,0 +1,277 @@
+package com.hivetech.kanban.cluster;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Relays the messages of the {@link ClusterEventBus} between instances through PostgreSQL {@code NOTIFY},
+ * so no infrastructure beyond the database is needed. Every instance listens on
+ * {@code kanban.cluster.postgres.channel} with one dedicated connection and ignores its own messages, which
+ * are delivered locally when they are published.
+ * <p>
+ * Messages are sent as JSON in the order they were published. A {@code NOTIFY} payload is limited to 8000
+ * bytes, so larger messages are split into fragments that are sent in one transaction and therefore arrive
+ * together. Notifications sent while an instance is reconnecting are lost to it; the task caches catch up
+ * within their ttl and websocket clients through {@code GET /api/tasks/changes}.
+ */
+@Component
+@ConditionalOnProperty(name = "kanban.cluster.event-bus", havingValue = "postgres")
+public class PostgresClusterEventBus implements ClusterEventBus {
+    // leaves room for the header below the 8000 bytes a notification payload may have
+    static final int MAX_FRAGMENT_BYTES = 7000;
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+    private static final String SEPARATOR = "|";
+    private static final int HEADER_FIELDS = 5;
+    private static final int POLL_TIMEOUT_MILLIS = 500;
+
+    private final Logger logger = Logger.getLogger(String.valueOf(PostgresClusterEventBus.class));
+
+    private final LocalClusterEventBus localBus = new LocalClusterEventBus();
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final String channel;
+    private final Duration reconnectDelay;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final AtomicLong messageSequence = new AtomicLong();
+    // a single thread keeps the messages of this instance in order
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cluster-event-sender");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Thread listener = new Thread(this::listen, "cluster-event-listener");
+    private final CountDownLatch listening = new CountDownLatch(1);
+    // fragments received so far per sending instance; only touched by the listener thread
+    private final Map<String, PartialMessage> partialMessages = new HashMap<>();
+    private volatile boolean running = true;
+
+    public PostgresClusterEventBus(DataSource dataSource,
+                                   ObjectMapper objectMapper,
+                                   @Value("${kanban.cluster.postgres.channel:kanban_cluster}") String channel,
+                                   @Value("${kanban.cluster.postgres.reconnect-delay:5s}") Duration reconnectDelay) {
+        // LISTEN takes an identifier, which cannot be passed as a statement parameter
+        if (!CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid notification channel name: " + channel);
+        }
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+        this.reconnectDelay = reconnectDelay;
+        listener.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        listener.start();
+    }
+
+    @Override
+    public void publish(String topic, Object message) {
+        if (topic.contains(SEPARATOR)) {
+            throw new IllegalArgumentException("Topic must not contain " + SEPARATOR + ": " + topic);
+        }
+        localBus.publish(topic, message);
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Message of " + topic + " cannot be written as JSON", e);
+        }
+        long messageId = messageSequence.incrementAndGet();
+        try {
+            sender.execute(() -> notifyOthers(topic, messageId, json));
+        } catch (RejectedExecutionException e) {
+            logger.fine("Shutting down, message of " + topic + " is not sent to other instances");
+        }
+    }
+
+    @Override
+    public <T> void subscribe(String topic, Class<T> type, Consumer<T> subscriber) {
+        localBus.subscribe(topic, type, subscriber);
+    }
+
+    /**
+     * Waits until this instance listens for the messages of the others.
+     * @return true if it listens, false if the timeout elapsed first
+     */
+    public boolean awaitListening(long timeout, TimeUnit unit) throws InterruptedException {
+        return listening.await(timeout, unit);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        sender.shutdown();
+        sender.awaitTermination(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        listener.join(2L * POLL_TIMEOUT_MILLIS);
+    }
+
+    private void notifyOthers(String topic, long messageId, String json) {
+        List<String> fragments = fragments(json, MAX_FRAGMENT_BYTES);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            connection.setAutoCommit(false);
+            for (int i = 0; i < fragments.size(); i++) {
+                String header = String.join(SEPARATOR, instanceId, Long.toString(messageId), Integer.toString(i),
+                        Integer.toString(fragments.size()), topic);
+                statement.setString(1, channel);
+                statement.setString(2, header + SEPARATOR + fragments.get(i));
+                statement.executeQuery().close();
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            logger.log(Level.WARNING, "Could not send message of " + topic + " to other instances", e);
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                connection.setAutoCommit(true);
+                statement.execute("LISTEN " + channel);
+                listening.countDown();
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+                // the connection goes back to the pool
+                statement.execute("UNLISTEN " + channel);
+            } catch (SQLException e) {
+                partialMessages.clear();
+                if (running) {
+                    logger.log(Level.WARNING, "Lost connection for cluster messages, reconnecting in " + reconnectDelay, e);
+                    sleepBeforeReconnect();
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects the fragments of a message of another instance and delivers the message once it is complete.
+     * @param payload the payload of a notification
+     */
+    void receive(String payload) {
+        String[] fields = payload.split(Pattern.quote(SEPARATOR), HEADER_FIELDS + 1);
+        if (fields.length <= HEADER_FIELDS || instanceId.equals(fields[0])) {
+            return;
+        }
+        String sender = fields[0];
+        String topic = fields[4];
+        long messageId;
+        int fragment;
+        int fragmentCount;
+        try {
+            messageId = Long.parseLong(fields[1]);
+            fragment = Integer.parseInt(fields[2]);
+            fragmentCount = Integer.parseInt(fields[3]);
+        } catch (NumberFormatException e) {
+            logger.warning("Ignoring malformed cluster message of " + topic);
+            return;
+        }
+
+        PartialMessage partial = partialMessages.get(sender);
+        if (fragment == 0) {
+            partial = new PartialMessage(messageId);
+            partialMessages.put(sender, partial);
+        } else if (partial == null || partial.messageId != messageId || partial.nextFragment != fragment) {
+            partialMessages.remove(sender);
+            logger.warning("Ignoring incomplete cluster message of " + topic);
+            return;
+        }
+        partial.json.append(fields[HEADER_FIELDS]);
+        partial.nextFragment++;
+        if (partial.nextFragment == fragmentCount) {
+            partialMessages.remove(sender);
+            deliver(topic, partial.json.toString());
+        }
+    }
+
+    private void deliver(String topic, String json) {
+        Class<?> type = localBus.typeOf(topic);
+        if (type == null) {
+            return;
+        }
+        try {
+            localBus.publish(topic, objectMapper.readValue(json, type));
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Could not read cluster message of " + topic, e);
+        }
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(reconnectDelay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    /**
+     * Splits the text into fragments of at most the given number of UTF-8 bytes, never inside a character.
+     */
+    static List<String> fragments(String text, int maxBytes) {
+        List<String> fragments = new ArrayList<>();
+        int start = 0;
+        int bytes = 0;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            int length = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (bytes + length > maxBytes) {
+                fragments.add(text.substring(start, i));
+                start = i;
+                bytes = 0;
+            }
+            bytes += length;
+            i += Character.charCount(codePoint);
+        }
+        fragments.add(text.substring(start));
+        return fragments;
+    }
+
+    private static final class PartialMessage {
+        private final long messageId;
+        private final StringBuilder json = new StringBuilder();
+        private int nextFragment;
+
+        private PartialMessage(long messageId) {
+            this.messageId = messageId;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.hivetech.kanban.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hivetech.kanban.model.Status;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Backs the {@code @Cacheable} task reads and the user details lookup with bounded Caffeine caches
+ * (W-TinyLFU eviction).
+ * All caches are registered up front so that Spring Boot binds their hit/miss/eviction
+ * statistics to the Micrometer registry exported on {@code /actuator/prometheus}.
+ */
+@Configuration
+public class CacheConfig {
+    public static final String TASKS_CACHE = "tasks";
+    public static final String TASK_CACHE = "task";
+    public static final String TASK_COUNTS_CACHE = "taskCounts";
+    public static final String USER_DETAILS_CACHE = "userDetails";
+
+    @Value("${kanban.cache.tasks.maximum-size:500}")
+    private long tasksMaximumSize;
+    @Value("${kanban.cache.tasks.ttl:30s}")
+    private Duration tasksTtl;
+    @Value("${kanban.cache.task.maximum-size:10000}")
+    private long taskMaximumSize;
+    @Value("${kanban.cache.task.ttl:5m}")
+    private Duration taskTtl;
+    @Value("${kanban.cache.task-counts.ttl:30s}")
+    private Duration taskCountsTtl;
+    @Value("${kanban.cache.user-details.maximum-size:10000}")
+    private long userDetailsMaximumSize;
+    @Value("${kanban.cache.user-details.ttl:5m}")
+    private Duration userDetailsTtl;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // fixes the set of caches; unknown names fail fast instead of creating unbounded caches
+        cacheManager.setCacheNames(List.of(TASKS_CACHE, TASK_CACHE, TASK_COUNTS_CACHE, USER_DETAILS_CACHE));
+        cacheManager.registerCustomCache(TASKS_CACHE, buildCache(tasksMaximumSize, tasksTtl));
+        cacheManager.registerCustomCache(TASK_CACHE, buildCache(taskMaximumSize, taskTtl));
+        // one entry per status plus the unfiltered total
+        cacheManager.registerCustomCache(TASK_COUNTS_CACHE, buildCache(Status.values().length + 1, taskCountsTtl));
+        cacheManager.registerCustomCache(USER_DETAILS_CACHE, buildCache(userDetailsMaximumSize, userDetailsTtl));
+        return cacheManager;
+    }
+
+    private Cache<Object, Object> buildCache(long maximumSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+}
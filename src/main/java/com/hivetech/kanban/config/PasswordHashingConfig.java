@@ -0,0 +1,58 @@
+package com.hivetech.kanban.config;
+
+import com.hivetech.kanban.util.BCryptStrengthUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Password hashing is deliberately slow, so it gets its own bounded pool instead of running on the request
+ * threads that serve task traffic. When the pool and its queue are full, new logins and registrations are
+ * rejected and answered with 429 rather than queued without limit.
+ */
+@Configuration
+public class PasswordHashingConfig {
+    public static final String PASSWORD_HASHING_EXECUTOR = "passwordHashingExecutor";
+
+    private final Logger logger = Logger.getLogger(String.valueOf(PasswordHashingConfig.class));
+
+    @Value("${kanban.password-hashing.pool-size:4}")
+    private int poolSize;
+    @Value("${kanban.password-hashing.queue-capacity:100}")
+    private int queueCapacity;
+    @Value("${kanban.password-hashing.bcrypt-strength:0}")
+    private int bcryptStrength;
+    @Value("${kanban.password-hashing.target-duration:250ms}")
+    private Duration targetDuration;
+
+    @Bean(name = PASSWORD_HASHING_EXECUTOR)
+    public ThreadPoolTaskExecutor passwordHashingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        // the default AbortPolicy rejects tasks once the queue is full
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hashing-");
+        return executor;
+    }
+
+    /**
+     * BCrypt encoder with the configured strength, or, when none is configured, the strength whose hash time
+     * is closest to the target duration on this machine. Stored hashes with a lower strength are
+     * upgraded on the next successful login.
+     * @return PasswordEncoder used for registration and login
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        int strength = bcryptStrength > 0 ? bcryptStrength : BCryptStrengthUtil.calibrate(targetDuration);
+        logger.log(Level.INFO, "Using BCrypt strength {0}", strength);
+        return new BCryptPasswordEncoder(strength);
+    }
+}
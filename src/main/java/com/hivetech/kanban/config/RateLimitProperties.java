@@ -0,0 +1,105 @@
+package com.hivetech.kanban.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rate limits per route, bound from {@code kanban.rate-limit.*}. Every client (user, or IP address for
+ * anonymous requests) gets its own bucket per route; the first route whose pattern matches a request applies.
+ */
+@Component
+@ConfigurationProperties(prefix = "kanban.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private long maximumClients = 100_000;
+    private Duration idleTimeout = Duration.ofMinutes(10);
+    private List<Route> routes = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaximumClients() {
+        return maximumClients;
+    }
+
+    public void setMaximumClients(long maximumClients) {
+        this.maximumClients = maximumClients;
+    }
+
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public List<Route> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(List<Route> routes) {
+        this.routes = routes;
+    }
+
+    /**
+     * Allows {@code capacity} requests per {@code period}, refilled gradually over the period.
+     */
+    public static class Route {
+        private String name;
+        private String pattern;
+        private long capacity;
+        private Duration period;
+
+        public Route() {
+        }
+
+        public Route(String name, String pattern, long capacity, Duration period) {
+            this.name = name;
+            this.pattern = pattern;
+            this.capacity = capacity;
+            this.period = period;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public void setPattern(String pattern) {
+            this.pattern = pattern;
+        }
+
+        public long getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(long capacity) {
+            this.capacity = capacity;
+        }
+
+        public Duration getPeriod() {
+            return period;
+        }
+
+        public void setPeriod(Duration period) {
+            this.period = period;
+        }
+    }
+}
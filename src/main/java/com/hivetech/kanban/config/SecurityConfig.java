@@ -3,6 +3,7 @@ package com.hivetech.kanban.config;
 
 import com.hivetech.kanban.security.AuthEntryPointJwt;
 import com.hivetech.kanban.security.AuthTokenFilter;
+import com.hivetech.kanban.security.RateLimitFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -11,8 +12,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -26,10 +25,12 @@ import java.util.List;
 public class SecurityConfig {
     private final AuthTokenFilter authTokenFilter;
     private final AuthEntryPointJwt unauthorizedHandler;
+    private final RateLimitFilter rateLimitFilter;
 
-    public SecurityConfig(AuthTokenFilter authTokenFilter, AuthEntryPointJwt unauthorizedHandler) {
+    public SecurityConfig(AuthTokenFilter authTokenFilter, AuthEntryPointJwt unauthorizedHandler, RateLimitFilter rateLimitFilter) {
         this.authTokenFilter = authTokenFilter;
         this.unauthorizedHandler = unauthorizedHandler;
+        this.rateLimitFilter = rateLimitFilter;
     }
 
     @Bean
@@ -53,6 +54,8 @@ public class SecurityConfig {
                 )
                 .authorizeHttpRequests(authorizeRequests ->
                         authorizeRequests
+                                .requestMatchers("/api/auth/logout")
+                                .authenticated()
                                 .requestMatchers(
                                         "/api/auth/**",
                                         "/swagger-ui.html",
@@ -65,6 +68,9 @@ public class SecurityConfig {
                                 .authenticated()
                 );
         http.addFilterBefore(authTokenFilter, UsernamePasswordAuthenticationFilter.class);
+        // after authentication, so that authenticated clients are limited per user instead of per IP;
+        // requests with rejected tokens are counted per IP by the AuthTokenFilter itself
+        http.addFilterAfter(rateLimitFilter, AuthTokenFilter.class);
         return http.build();
 
     }
@@ -75,15 +81,9 @@ public class SecurityConfig {
         configuration.setAllowedOriginPatterns(List.of("*"));
         configuration.setAllowedMethods(List.of("GET","POST","PUT","PATCH","DELETE","OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
-        configuration.setExposedHeaders(List.of("Authorization", "Link"));
+        configuration.setExposedHeaders(List.of("Authorization", "ETag", "Link", "Retry-After", "X-Rate-Limit-Remaining"));
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
         return source;
     }
-
-
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
 }
@@ -0,0 +1,31 @@
+package com.hivetech.kanban.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Task change events are broadcast to websocket subscribers after commit on their own executor, so the
+ * broker fan-out never adds to the latency of the request that wrote the tasks.
+ */
+@Configuration
+@EnableAsync
+public class TaskEventConfig {
+    public static final String TASK_EVENT_EXECUTOR = "taskEventExecutor";
+
+    /**
+     * A single virtual thread works through the events in the order they were submitted. Transactions that
+     * commit concurrently submit their events from their own threads after commit, so that order is not
+     * necessarily the commit order, and an older state of a task may reach subscribers after a newer one;
+     * every task in an event carries its version, by which subscribers discard such stale states.
+     * Submitting never blocks the committing thread.
+     * @return ExecutorService that is drained and closed on shutdown
+     */
+    @Bean(name = TASK_EVENT_EXECUTOR, destroyMethod = "close")
+    public ExecutorService taskEventExecutor() {
+        return Executors.newSingleThreadExecutor(Thread.ofVirtual().name("task-events").factory());
+    }
+}
@@ -1,20 +1,53 @@
 package com.hivetech.kanban.config;
 
+import com.hivetech.kanban.interceptor.TaskEventReplayInterceptor;
 import com.hivetech.kanban.interceptor.WebSocketHandshakeInterceptor;
+import com.hivetech.kanban.interceptor.WebSocketSendQueueMetrics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.WebSocketMessageBrokerStats;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
 
+import java.util.function.ToIntFunction;
+
+/**
+ * STOMP over WebSocket with the simple broker. The client channels run on bounded, configurable pools, and
+ * every session may only fall behind by {@code send-time-limit} or {@code send-buffer-size-limit} before it is
+ * closed, so a slow client never holds a broker thread. Heartbeats detect dead connections on both sides.
+ */
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final WebSocketHandshakeInterceptor webSocketHandshakeInterceptor;
+    private final WebSocketSendQueueMetrics webSocketSendQueueMetrics;
+    private final TaskEventReplayInterceptor taskEventReplayInterceptor;
+    private final WebSocketProperties properties;
+    // created by this configuration itself, hence lazy
+    private final TaskScheduler messageBrokerTaskScheduler;
 
-    public WebSocketConfig(WebSocketHandshakeInterceptor webSocketHandshakeInterceptor) {
+    public WebSocketConfig(WebSocketHandshakeInterceptor webSocketHandshakeInterceptor,
+                           WebSocketSendQueueMetrics webSocketSendQueueMetrics,
+                           TaskEventReplayInterceptor taskEventReplayInterceptor,
+                           WebSocketProperties properties,
+                           @Lazy @Qualifier("messageBrokerTaskScheduler") TaskScheduler messageBrokerTaskScheduler) {
         this.webSocketHandshakeInterceptor = webSocketHandshakeInterceptor;
+        this.webSocketSendQueueMetrics = webSocketSendQueueMetrics;
+        this.taskEventReplayInterceptor = taskEventReplayInterceptor;
+        this.properties = properties;
+        this.messageBrokerTaskScheduler = messageBrokerTaskScheduler;
     }
 
     @Override
@@ -28,7 +61,64 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
+        long heartbeat = properties.getHeartbeat().toMillis();
         registry.setApplicationDestinationPrefixes("/app");
-        registry.enableSimpleBroker("/topic");
+        // keeps the live frames of a session in order; replayed frames are ordered by TaskEventHistory
+        registry.setPreservePublishOrder(true);
+        registry.enableSimpleBroker("/topic")
+                .setHeartbeatValue(new long[]{heartbeat, heartbeat})
+                .setTaskScheduler(messageBrokerTaskScheduler);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        configureChannel(registration, properties.getInbound());
+        registration.interceptors(taskEventReplayInterceptor);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        configureChannel(registration, properties.getOutbound());
+        // frames held back behind a replay are only counted once they are queued
+        registration.interceptors(taskEventReplayInterceptor, webSocketSendQueueMetrics);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration
+                .setSendTimeLimit(Math.toIntExact(properties.getSendTimeLimit().toMillis()))
+                .setSendBufferSizeLimit(Math.toIntExact(properties.getSendBufferSizeLimit().toBytes()))
+                .setMessageSizeLimit(Math.toIntExact(properties.getMessageSizeLimit().toBytes()))
+                .addDecoratorFactory(webSocketSendQueueMetrics);
+    }
+
+    /**
+     * Exports the number of open sessions and of sessions closed for exceeding the send limits.
+     * Channel pool metrics are bound by Spring Boot as {@code executor.*} with the executor bean name as tag.
+     * @param stats the broker statistics collected by Spring
+     * @return MeterBinder for the session statistics
+     */
+    @Bean
+    public MeterBinder webSocketSessionMetrics(WebSocketMessageBrokerStats stats) {
+        return registry -> {
+            Gauge.builder("kanban.websocket.sessions", stats, s -> sessionStat(s, SubProtocolWebSocketHandler.Stats::getTotalSessions))
+                    .description("Open WebSocket and SockJS sessions")
+                    .register(registry);
+            FunctionCounter.builder("kanban.websocket.sessions.limit.exceeded", stats, s -> sessionStat(s, SubProtocolWebSocketHandler.Stats::getLimitExceededSessions))
+                    .description("Sessions closed because they exceeded the send time or buffer size limit")
+                    .register(registry);
+        };
+    }
+
+    private static double sessionStat(WebSocketMessageBrokerStats stats, ToIntFunction<SubProtocolWebSocketHandler.Stats> stat) {
+        SubProtocolWebSocketHandler.Stats sessionStats = stats.getWebSocketSessionStats();
+        return sessionStats != null ? stat.applyAsInt(sessionStats) : 0;
+    }
+
+    private static void configureChannel(ChannelRegistration registration, WebSocketProperties.Channel channel) {
+        registration.taskExecutor()
+                .corePoolSize(channel.getCorePoolSize())
+                .maxPoolSize(channel.getMaxPoolSize())
+                .queueCapacity(channel.getQueueCapacity());
     }
 }
@@ -0,0 +1,114 @@
+package com.hivetech.kanban.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * STOMP broker tuning, bound from {@code kanban.websocket.*}: the thread pools of the client inbound and
+ * outbound channels, the per-session send limits past which a slow client is disconnected, heartbeats, and how
+ * many recent frames per destination are kept for subscribers resuming after a reconnect.
+ */
+@Component
+@ConfigurationProperties(prefix = "kanban.websocket")
+public class WebSocketProperties {
+    private Channel inbound = new Channel();
+    private Channel outbound = new Channel();
+    private Duration sendTimeLimit = Duration.ofSeconds(10);
+    private DataSize sendBufferSizeLimit = DataSize.ofKilobytes(512);
+    private DataSize messageSizeLimit = DataSize.ofKilobytes(64);
+    private Duration heartbeat = Duration.ofSeconds(10);
+    private int replayCapacity = 1000;
+
+    public Channel getInbound() {
+        return inbound;
+    }
+
+    public void setInbound(Channel inbound) {
+        this.inbound = inbound;
+    }
+
+    public Channel getOutbound() {
+        return outbound;
+    }
+
+    public void setOutbound(Channel outbound) {
+        this.outbound = outbound;
+    }
+
+    public Duration getSendTimeLimit() {
+        return sendTimeLimit;
+    }
+
+    public void setSendTimeLimit(Duration sendTimeLimit) {
+        this.sendTimeLimit = sendTimeLimit;
+    }
+
+    public DataSize getSendBufferSizeLimit() {
+        return sendBufferSizeLimit;
+    }
+
+    public void setSendBufferSizeLimit(DataSize sendBufferSizeLimit) {
+        this.sendBufferSizeLimit = sendBufferSizeLimit;
+    }
+
+    public DataSize getMessageSizeLimit() {
+        return messageSizeLimit;
+    }
+
+    public void setMessageSizeLimit(DataSize messageSizeLimit) {
+        this.messageSizeLimit = messageSizeLimit;
+    }
+
+    public Duration getHeartbeat() {
+        return heartbeat;
+    }
+
+    public void setHeartbeat(Duration heartbeat) {
+        this.heartbeat = heartbeat;
+    }
+
+    public int getReplayCapacity() {
+        return replayCapacity;
+    }
+
+    public void setReplayCapacity(int replayCapacity) {
+        this.replayCapacity = replayCapacity;
+    }
+
+    /**
+     * Thread pool of a client channel. Defaults match Spring's: two threads per processor and an
+     * unbounded queue.
+     */
+    public static class Channel {
+        private int corePoolSize = Runtime.getRuntime().availableProcessors() * 2;
+        private int maxPoolSize = Runtime.getRuntime().availableProcessors() * 2;
+        private int queueCapacity = Integer.MAX_VALUE;
+
+        public int getCorePoolSize() {
+            return corePoolSize;
+        }
+
+        public void setCorePoolSize(int corePoolSize) {
+            this.corePoolSize = corePoolSize;
+        }
+
+        public int getMaxPoolSize() {
+            return maxPoolSize;
+        }
+
+        public void setMaxPoolSize(int maxPoolSize) {
+            this.maxPoolSize = maxPoolSize;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+}
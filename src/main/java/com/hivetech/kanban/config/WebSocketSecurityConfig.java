@@ -20,7 +20,7 @@ public class WebSocketSecurityConfig {
             MessageMatcherDelegatingAuthorizationManager.Builder messages
     ) {
         messages
-                .simpSubscribeDestMatchers("/topic/tasks").authenticated()
+                .simpSubscribeDestMatchers("/topic/tasks", "/topic/tasks/*").authenticated()
                 .simpDestMatchers("/app/**").authenticated()
                 .anyMessage().denyAll();
 
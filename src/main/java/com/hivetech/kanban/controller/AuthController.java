@@ -1,5 +1,6 @@
 package com.hivetech.kanban.controller;
 
+import com.hivetech.kanban.config.PasswordHashingConfig;
 import com.hivetech.kanban.dto.AuthResponseDTO;
 import com.hivetech.kanban.dto.ErrorResponse;
 import com.hivetech.kanban.dto.LoginRequestDTO;
@@ -11,41 +12,67 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 @RestController
 @RequestMapping("/api/auth")
 @Tag(name = "Authentication", description = "Endpoints for user authentication and registration")
 public class AuthController {
     private final UserService userService;
+    private final Executor passwordHashingExecutor;
 
-    public AuthController(UserService userService){
+    public AuthController(UserService userService, @Qualifier(PasswordHashingConfig.PASSWORD_HASHING_EXECUTOR) Executor passwordHashingExecutor){
         this.userService = userService;
+        this.passwordHashingExecutor = passwordHashingExecutor;
     }
 
     @Operation(summary = "Login user", description = "Authenticate user and return JWT token")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully authenticated"),
             @ApiResponse(responseCode = "401", description = "Invalid username or password", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "429", description = "Too many concurrent logins, retry later", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
     })
     @PostMapping("/login")
-    public ResponseEntity<AuthResponseDTO> login(@RequestBody LoginRequestDTO user){
-        return ResponseEntity.ok(this.userService.authenticateUser(user));
+    public CompletableFuture<ResponseEntity<AuthResponseDTO>> login(@RequestBody LoginRequestDTO user){
+        // password hashing runs on its own bounded pool, releasing the request thread meanwhile
+        return CompletableFuture
+                .supplyAsync(() -> this.userService.authenticateUser(user), passwordHashingExecutor)
+                .thenApply(ResponseEntity::ok);
     }
 
     @Operation(summary = "Register user", description = "Register new user and return JWT token")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully registered"),
             @ApiResponse(responseCode = "400", description = "Validation error", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "429", description = "Too many concurrent registrations, retry later", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
     })
     @PostMapping("/register")
-    public ResponseEntity<AuthResponseDTO> register(@RequestBody RegisterRequestDTO user){
-        return ResponseEntity.ok(this.userService.registerUser(user));
+    public CompletableFuture<ResponseEntity<AuthResponseDTO>> register(@RequestBody RegisterRequestDTO user){
+        return CompletableFuture
+                .supplyAsync(() -> this.userService.registerUser(user), passwordHashingExecutor)
+                .thenApply(ResponseEntity::ok);
+    }
+
+    @Operation(summary = "Logout user", description = "Revoke every JWT token issued to the authenticated user")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Successfully revoked"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(Authentication authentication){
+        this.userService.revokeTokens(authentication.getName());
+        return ResponseEntity.noContent().build();
     }
 }
@@ -1,60 +1,163 @@
 package com.hivetech.kanban.controller;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.github.fge.jsonpatch.JsonPatch;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.github.fge.jsonpatch.JsonPatchException;
+import com.hivetech.kanban.dto.CursorPageDTO;
 import com.hivetech.kanban.dto.ErrorResponse;
+import com.hivetech.kanban.dto.SliceDTO;
+import com.hivetech.kanban.dto.TaskBulkUpdateDTO;
+import com.hivetech.kanban.dto.TaskChangesDTO;
+import com.hivetech.kanban.dto.TaskCountDTO;
 import com.hivetech.kanban.dto.TaskRequestDTO;
 import com.hivetech.kanban.dto.TaskResponseDTO;
+import com.hivetech.kanban.dto.TaskStatusDTO;
+import com.hivetech.kanban.exception.BulkSizeExceededException;
+import com.hivetech.kanban.exception.DuplicateTaskIdException;
 import com.hivetech.kanban.model.Status;
-import com.hivetech.kanban.dto.TaskWebSocketEvent;
+import com.hivetech.kanban.service.TaskChangeService;
+import com.hivetech.kanban.service.TaskCountService;
 import com.hivetech.kanban.service.TaskService;
+import com.hivetech.kanban.util.TaskETagUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/tasks")
 @Tag(name = "Tasks", description = "CRUD operations for Kanban tasks")
 public class TaskController {
+    private static final int MAX_SCROLL_SIZE = 1000;
+    // bulk writes run in one transaction and are broadcast as one event
+    private static final int MAX_BULK_SIZE = 1000;
+
     private final TaskService taskService;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final TaskCountService taskCountService;
+    private final TaskChangeService taskChangeService;
 
-    public TaskController(TaskService taskService, SimpMessagingTemplate messagingTemplate) {
+    public TaskController(TaskService taskService, TaskCountService taskCountService, TaskChangeService taskChangeService) {
         this.taskService = taskService;
-        this.messagingTemplate = messagingTemplate;
+        this.taskCountService = taskCountService;
+        this.taskChangeService = taskChangeService;
     }
 
     @Operation(summary = "Get all tasks", description = "Retrieve paginated list of tasks with optional status filter")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved tasks"),
+            @ApiResponse(responseCode = "304", description = "Page not modified since the ETag given in If-None-Match"),
             @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
     })
-    @Cacheable(cacheNames = "tasks", key = "T(java.util.Objects).toString(#status) + '::' + #pageable.pageNumber + '-' + #pageable.pageSize")
+    @Cacheable(cacheNames = "tasks", key = "T(java.util.Objects).toString(#status) + '::' + #pageable.pageNumber + '-' + #pageable.pageSize + '-' + #pageable.sort")
     @GetMapping("")
     public ResponseEntity<Page<TaskResponseDTO>> getAllTasks(@RequestParam(required = false) Status status,
                                                              @PageableDefault(size = 100) Pageable pageable) {
-        return ResponseEntity.ok(taskService.getAllTasks(status, pageable));
+        Page<TaskResponseDTO> page = taskService.getAllTasks(status, pageable);
+        return ResponseEntity.ok()
+                .eTag(TaskETagUtil.of(page.getContent(), page.getTotalElements()))
+                .body(page);
+    }
+
+    @Operation(summary = "Get tasks without total", description = "Retrieve a page of tasks without running a count query; the response only tells whether a next page exists")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved tasks"),
+            @ApiResponse(responseCode = "304", description = "Page not modified since the ETag given in If-None-Match"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @Cacheable(cacheNames = "tasks", key = "T(java.util.Objects).toString(#status) + '::slice-' + #pageable.pageNumber + '-' + #pageable.pageSize + '-' + #pageable.sort")
+    @GetMapping(path = "", params = "withTotal=false")
+    public ResponseEntity<SliceDTO<TaskResponseDTO>> getTaskSlice(@RequestParam(required = false) Status status,
+                                                                  @PageableDefault(size = 100) Pageable pageable) {
+        SliceDTO<TaskResponseDTO> slice = taskService.getTaskSlice(status, pageable);
+        return ResponseEntity.ok()
+                .eTag(TaskETagUtil.of(slice.getContent(), slice.isHasNext()))
+                .body(slice);
     }
 
-    @Operation(summary = "Get task by ID", description = "Retrieve a single task by its unique ID")
+    @Operation(summary = "Count tasks", description = "Retrieve the number of tasks with optional status filter; the value is cached briefly and may lag behind recent writes")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully counted tasks"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/count")
+    public ResponseEntity<TaskCountDTO> countTasks(@RequestParam(required = false) Status status) {
+        return ResponseEntity.ok(taskCountService.countTasks(status));
+    }
+
+    @Operation(summary = "Scroll tasks", description = "Retrieve tasks ordered by ID using keyset pagination; pass the returned nextCursor as 'after' to fetch the next page")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved tasks"),
+            @ApiResponse(responseCode = "304", description = "Page not modified since the ETag given in If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageDTO<TaskResponseDTO>> scrollTasks(@RequestParam(required = false) Status status,
+                                                                      @RequestParam(required = false) String after,
+                                                                      @RequestParam(defaultValue = "100") int size) {
+        int boundedSize = Math.clamp(size, 1, MAX_SCROLL_SIZE);
+        CursorPageDTO<TaskResponseDTO> page = taskService.getTasksAfter(status, after, boundedSize);
+        return ResponseEntity.ok()
+                .eTag(TaskETagUtil.of(page.getContent(), page.isHasNext()))
+                .body(page);
+    }
+
+    @Operation(summary = "Get task changes", description = "Retrieve the tasks written and the ids of the tasks deleted after the given change sequence value, oldest first; pass the returned nextSince as 'since' to continue, or 0 to read the whole board")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved changes"),
+            @ApiResponse(responseCode = "400", description = "Validation error", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "410", description = "Changes since the given value are no longer kept; reload with since=0", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/changes")
+    public ResponseEntity<TaskChangesDTO> getChanges(@RequestParam(defaultValue = "0") long since,
+                                                     @RequestParam(defaultValue = "100") int limit) {
+        int boundedLimit = Math.clamp(limit, 1, MAX_SCROLL_SIZE);
+        return ResponseEntity.ok(taskChangeService.getChangesSince(Math.max(since, 0), boundedLimit));
+    }
+
+    @Operation(summary = "Export tasks", description = "Stream all tasks, optionally filtered by status, as newline-delimited JSON")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully exported tasks", content = @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = TaskResponseDTO.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/export")
+    public void exportTasks(@RequestParam(required = false) Status status, HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        taskService.exportTasks(status, response.getOutputStream());
+        response.flushBuffer();
+    }
+
+    @Operation(summary = "Get task by ID", description = "Retrieve a single task by its unique ID; the ETag is the task version and can be sent back in If-None-Match, or in If-Match to make a write conditional")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved task"),
+            @ApiResponse(responseCode = "304", description = "Task not modified since the ETag given in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Task not found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
@@ -62,7 +165,8 @@ public class TaskController {
     @Cacheable(cacheNames = "task", key = "#id")
     @GetMapping("/{id}")
     public ResponseEntity<TaskResponseDTO> getTask(@PathVariable UUID id) {
-        return ResponseEntity.ok(taskService.getTask(id));
+        TaskResponseDTO task = taskService.getTask(id);
+        return ResponseEntity.ok().eTag(TaskETagUtil.of(task)).body(task);
     }
 
     @Operation(summary = "Create new task", description = "Create a new task in the Kanban board")
@@ -72,71 +176,143 @@ public class TaskController {
             @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
     })
-    @CacheEvict(cacheNames = { "tasks", "task" }, allEntries = true)
     @PostMapping("")
     public ResponseEntity<TaskResponseDTO> createTask(@RequestBody TaskRequestDTO task) {
         TaskResponseDTO created = taskService.createTask(task);
 
-        messagingTemplate.convertAndSend("/topic/tasks",
-                new TaskWebSocketEvent("CREATED", created));
+        return ResponseEntity.ok().eTag(TaskETagUtil.of(created)).body(created);
+    }
+
+    @Operation(summary = "Create tasks in bulk", description = "Create many tasks in one transaction; subscribers receive a single BULK_CREATED event")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tasks created successfully"),
+            @ApiResponse(responseCode = "400", description = "Validation error", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/bulk")
+    public ResponseEntity<List<TaskResponseDTO>> createTasks(@RequestBody List<@NotNull @Valid TaskRequestDTO> tasks) {
+        checkBulkSize(tasks);
+        List<TaskResponseDTO> created = taskService.createTasks(tasks);
 
         return ResponseEntity.ok(created);
     }
 
-    @Operation(summary = "Update task completely", description = "Perform a full update (PUT) of a task")
+    @Operation(summary = "Update tasks in bulk", description = "Fully update many tasks in one transaction, each only if it still has the version given with it; subscribers receive a single BULK_UPDATED event")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tasks updated successfully"),
+            @ApiResponse(responseCode = "409", description = "One of the tasks was modified since the version given with it", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "One of the tasks was not found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Validation error", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PutMapping("/bulk")
+    public ResponseEntity<List<TaskResponseDTO>> putTasks(@RequestBody List<@NotNull @Valid TaskBulkUpdateDTO> tasks) {
+        checkBulkSize(tasks);
+        checkDistinctIds(tasks);
+        List<TaskResponseDTO> updated = taskService.updateTasks(tasks);
+
+        return ResponseEntity.ok(updated);
+    }
+
+    @Operation(summary = "Delete tasks in bulk", description = "Delete many tasks by ID with a single statement; subscribers receive a single BULK_DELETED event")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Tasks deleted successfully"),
+            @ApiResponse(responseCode = "400", description = "Validation error or too many tasks", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @DeleteMapping("/bulk")
+    public ResponseEntity<Void> deleteTasks(@RequestBody List<@NotNull UUID> ids) {
+        checkBulkSize(ids);
+        taskService.deleteTasks(ids);
+
+        return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+    }
+
+    @Operation(summary = "Update task completely", description = "Perform a full update (PUT) of a task; with If-Match only if the task still has that ETag")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Task updated successfully"),
+            @ApiResponse(responseCode = "412", description = "Task was modified since the ETag given in If-Match", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "404", description = "Task not found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "400", description = "Validation error", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
     })
-    @CacheEvict(cacheNames = { "tasks", "task" }, key = "#id", allEntries = true)
     @PutMapping("/{id}")
-    public ResponseEntity<TaskResponseDTO> putTask(@PathVariable UUID id, @RequestBody TaskRequestDTO task) {
-        TaskResponseDTO updated = taskService.updateTask(id, task);
+    public ResponseEntity<TaskResponseDTO> putTask(@PathVariable UUID id, @RequestBody TaskRequestDTO task,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TaskResponseDTO updated = taskService.updateTask(id, task, TaskETagUtil.expectedVersion(ifMatch));
 
-        messagingTemplate.convertAndSend("/topic/tasks",
-                new TaskWebSocketEvent("UPDATED", updated));
+        return ResponseEntity.ok().eTag(TaskETagUtil.of(updated)).body(updated);
+    }
 
-        return ResponseEntity.ok(updated);
+    @Operation(summary = "Move task", description = "Move a task to another status column with a single conditional update; with If-Match only if the task still has that ETag")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Task moved successfully"),
+            @ApiResponse(responseCode = "412", description = "Task was modified since the ETag given in If-Match", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Task not found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Validation error", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PutMapping("/{id}/status")
+    public ResponseEntity<TaskResponseDTO> moveTask(@PathVariable UUID id, @Valid @RequestBody TaskStatusDTO status,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TaskResponseDTO moved = taskService.moveTask(id, Status.valueOf(status.getStatus().toUpperCase()),
+                TaskETagUtil.expectedVersion(ifMatch));
+
+        return ResponseEntity.ok().eTag(TaskETagUtil.of(moved)).body(moved);
     }
 
-    @Operation(summary = "Patch task", description = "Perform partial update (PATCH) of a task using JSON Patch")
+    @Operation(summary = "Patch task", description = "Perform partial update (PATCH) of a task using JSON Patch; with If-Match only if the task still has that ETag")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Task patched successfully"),
+            @ApiResponse(responseCode = "412", description = "Task was modified since the ETag given in If-Match", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "404", description = "Task not found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "400", description = "Invalid patch format", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
     })
-    @CacheEvict(cacheNames = { "tasks", "task" }, key = "#id", allEntries = true)
     @PatchMapping(path = "/{id}", consumes = "application/json-patch+json")
-    public ResponseEntity<TaskResponseDTO> patchTask(@PathVariable UUID id, @RequestBody JsonPatch patch)
+    public ResponseEntity<TaskResponseDTO> patchTask(@PathVariable UUID id, @RequestBody JsonNode patch,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
             throws JsonPatchException, JsonProcessingException {
-        TaskResponseDTO patched = taskService.patchTask(id, patch);
+        TaskResponseDTO patched = taskService.patchTask(id, patch, TaskETagUtil.expectedVersion(ifMatch));
 
-        messagingTemplate.convertAndSend("/topic/tasks",
-                new TaskWebSocketEvent("UPDATED", patched));
-
-        return ResponseEntity.ok(patched);
+        return ResponseEntity.ok().eTag(TaskETagUtil.of(patched)).body(patched);
     }
 
-    @Operation(summary = "Delete task", description = "Delete a task by its unique ID")
+    @Operation(summary = "Delete task", description = "Delete a task by its unique ID; with If-Match only if the task still has that ETag")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Task deleted successfully"),
+            @ApiResponse(responseCode = "412", description = "Task was modified or deleted since the ETag given in If-Match", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "404", description = "Task not found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)))
     })
-    @CacheEvict(cacheNames = { "tasks", "task" }, key = "#id", allEntries = true)
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteTask(@PathVariable UUID id) {
-        taskService.deleteTask(id);
-
-        messagingTemplate.convertAndSend("/topic/tasks",
-                new TaskWebSocketEvent("DELETED", id));
+    public ResponseEntity<Void> deleteTask(@PathVariable UUID id,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        taskService.deleteTask(id, TaskETagUtil.expectedVersion(ifMatch));
 
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
+
+    private static void checkBulkSize(List<?> items) {
+        if (items.size() > MAX_BULK_SIZE) {
+            throw new BulkSizeExceededException("At most " + MAX_BULK_SIZE + " tasks can be written at once, got " + items.size() + ".");
+        }
+    }
+
+    // every copy of a task would pass the version check against the same loaded version
+    private static void checkDistinctIds(List<TaskBulkUpdateDTO> tasks) {
+        Set<UUID> ids = new HashSet<>();
+        for (TaskBulkUpdateDTO task : tasks) {
+            if (!ids.add(task.getId())) {
+                throw new DuplicateTaskIdException("Task with ID " + task.getId() + " is given more than once.");
+            }
+        }
+    }
 }
@@ -0,0 +1,52 @@
+package com.hivetech.kanban.dto;
+
+import java.util.List;
+
+public class SliceDTO<T> {
+    private List<T> content;
+    private int number;
+    private int size;
+    private boolean hasNext;
+
+    public SliceDTO() {
+    }
+
+    public SliceDTO(List<T> content, int number, int size, boolean hasNext) {
+        this.content = content;
+        this.number = number;
+        this.size = size;
+        this.hasNext = hasNext;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    public int getNumber() {
+        return number;
+    }
+
+    public void setNumber(int number) {
+        this.number = number;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+}
@@ -0,0 +1,25 @@
+package com.hivetech.kanban.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+public class TaskBulkUpdateDTO extends TaskRequestDTO {
+    @NotNull
+    private UUID id;
+
+    public TaskBulkUpdateDTO(){}
+
+    public TaskBulkUpdateDTO(UUID id, String title, String description, String status, String priority, int version) {
+        super(title, description, status, priority, version);
+        this.id = id;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+}
@@ -0,0 +1,58 @@
+package com.hivetech.kanban.dto;
+
+import java.util.UUID;
+
+/**
+ * One entry of the change log: the current state of a written task, or the id of a deleted one.
+ */
+public class TaskChangeDTO {
+    public static final String UPSERTED = "UPSERTED";
+    public static final String DELETED = "DELETED";
+
+    private long seq;
+    private String type;
+    private UUID id;
+    private TaskResponseDTO task;
+
+    public TaskChangeDTO() {
+    }
+
+    public TaskChangeDTO(long seq, String type, UUID id, TaskResponseDTO task) {
+        this.seq = seq;
+        this.type = type;
+        this.id = id;
+        this.task = task;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public TaskResponseDTO getTask() {
+        return task;
+    }
+
+    public void setTask(TaskResponseDTO task) {
+        this.task = task;
+    }
+}
@@ -0,0 +1,42 @@
+package com.hivetech.kanban.dto;
+
+import java.util.List;
+
+public class TaskChangesDTO {
+    private List<TaskChangeDTO> changes;
+    private long nextSince;
+    private boolean hasMore;
+
+    public TaskChangesDTO() {
+    }
+
+    public TaskChangesDTO(List<TaskChangeDTO> changes, long nextSince, boolean hasMore) {
+        this.changes = changes;
+        this.nextSince = nextSince;
+        this.hasMore = hasMore;
+    }
+
+    public List<TaskChangeDTO> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<TaskChangeDTO> changes) {
+        this.changes = changes;
+    }
+
+    public long getNextSince() {
+        return nextSince;
+    }
+
+    public void setNextSince(long nextSince) {
+        this.nextSince = nextSince;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,30 @@
+package com.hivetech.kanban.dto;
+
+public class TaskCountDTO {
+    private String status;
+    private long count;
+
+    public TaskCountDTO() {
+    }
+
+    public TaskCountDTO(String status, long count) {
+        this.status = status;
+        this.count = count;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+}
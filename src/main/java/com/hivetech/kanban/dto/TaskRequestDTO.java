@@ -1,5 +1,6 @@
 package com.hivetech.kanban.dto;
 
+import com.hivetech.kanban.model.Priority;
 import com.hivetech.kanban.model.Status;
 import com.hivetech.kanban.validator.EnumValidator;
 import jakarta.validation.constraints.NotBlank;
@@ -15,7 +16,7 @@ public class TaskRequestDTO {
     @EnumValidator(enumClass = Status.class)
     private String status;
     @NotBlank
-    @EnumValidator(enumClass = Status.class)
+    @EnumValidator(enumClass = Priority.class)
     private String priority;
     private int version;
 
@@ -1,5 +1,8 @@
 package com.hivetech.kanban.dto;
 
+import com.hivetech.kanban.model.Priority;
+import com.hivetech.kanban.model.Status;
+
 import java.util.UUID;
 
 public class TaskResponseDTO {
@@ -22,6 +25,14 @@ public class TaskResponseDTO {
         this.version = version;
     }
 
+    /**
+     * Used by the JPQL constructor expressions in {@code TaskRepository}; a null status or priority stays null.
+     */
+    public TaskResponseDTO(UUID id, String title, String description, Status status, Priority priority, int version) {
+        this(id, title, description, status == null ? null : status.name(),
+                priority == null ? null : priority.name(), version);
+    }
+
     public UUID getId() {
         return id;
     }
@@ -0,0 +1,25 @@
+package com.hivetech.kanban.dto;
+
+import com.hivetech.kanban.model.Status;
+import com.hivetech.kanban.validator.EnumValidator;
+import jakarta.validation.constraints.NotBlank;
+
+public class TaskStatusDTO {
+    @NotBlank
+    @EnumValidator(enumClass = Status.class)
+    private String status;
+
+    public TaskStatusDTO(){}
+
+    public TaskStatusDTO(String status) {
+        this.status = status;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
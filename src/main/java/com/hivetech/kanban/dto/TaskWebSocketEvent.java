@@ -1,8 +1,13 @@
 package com.hivetech.kanban.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 public class TaskWebSocketEvent {
     private String eventType;
     private Object data;
+    // only set on the frames sent to a destination, not on the events inside a batch
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String resumeToken;
 
     public TaskWebSocketEvent() {
     }
@@ -12,6 +17,12 @@ public class TaskWebSocketEvent {
         this.data = data;
     }
 
+    public TaskWebSocketEvent(String eventType, Object data, String resumeToken) {
+        this.eventType = eventType;
+        this.data = data;
+        this.resumeToken = resumeToken;
+    }
+
     public String getEventType() {
         return eventType;
     }
@@ -27,4 +38,12 @@ public class TaskWebSocketEvent {
     public void setData(Object data) {
         this.data = data;
     }
+
+    public String getResumeToken() {
+        return resumeToken;
+    }
+
+    public void setResumeToken(String resumeToken) {
+        this.resumeToken = resumeToken;
+    }
 }
@@ -0,0 +1,38 @@
+package com.hivetech.kanban.event;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.hivetech.kanban.model.Status;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Sent to every instance over the {@link com.hivetech.kanban.cluster.ClusterEventBus} once tasks were written,
+ * so each can evict the cache entries the write made stale.
+ */
+public class TaskCacheEvictionEvent {
+    private final Collection<UUID> ids;
+    private final Collection<Status> statuses;
+
+    @JsonCreator
+    public TaskCacheEvictionEvent(@JsonProperty("ids") Collection<UUID> ids,
+                                  @JsonProperty("statuses") Collection<Status> statuses) {
+        this.ids = ids;
+        this.statuses = statuses;
+    }
+
+    /**
+     * @return the ids of the written tasks
+     */
+    public Collection<UUID> getIds() {
+        return ids;
+    }
+
+    /**
+     * @return every status the tasks had before or after the write
+     */
+    public Collection<Status> getStatuses() {
+        return statuses;
+    }
+}
@@ -0,0 +1,86 @@
+package com.hivetech.kanban.event;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.hivetech.kanban.dto.TaskResponseDTO;
+import com.hivetech.kanban.model.Status;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Published whenever tasks are created, updated or deleted, carrying the written tasks together with the
+ * status they had before the write, so listeners can tell which status columns changed. Also sent to the other
+ * instances over the {@link com.hivetech.kanban.cluster.ClusterEventBus}, hence readable from JSON.
+ */
+public class TaskChangedEvent {
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final ChangeType changeType;
+    private final boolean bulk;
+    private final List<TaskResponseDTO> tasks;
+    private final Map<UUID, Status> previousStatuses;
+
+    @JsonCreator
+    public TaskChangedEvent(@JsonProperty("changeType") ChangeType changeType,
+                            @JsonProperty("bulk") boolean bulk,
+                            @JsonProperty("tasks") List<TaskResponseDTO> tasks,
+                            @JsonProperty("previousStatuses") Map<UUID, Status> previousStatuses) {
+        this.changeType = changeType;
+        this.bulk = bulk;
+        this.tasks = tasks;
+        this.previousStatuses = previousStatuses;
+    }
+
+    public static TaskChangedEvent created(TaskResponseDTO task) {
+        return new TaskChangedEvent(ChangeType.CREATED, false, List.of(task), Map.of());
+    }
+
+    public static TaskChangedEvent updated(Status previousStatus, TaskResponseDTO task) {
+        return new TaskChangedEvent(ChangeType.UPDATED, false, List.of(task), Map.of(task.getId(), previousStatus));
+    }
+
+    public static TaskChangedEvent deleted(UUID id, Status previousStatus) {
+        return new TaskChangedEvent(ChangeType.DELETED, false, List.of(), Map.of(id, previousStatus));
+    }
+
+    public static TaskChangedEvent bulkCreated(List<TaskResponseDTO> tasks) {
+        return new TaskChangedEvent(ChangeType.CREATED, true, tasks, Map.of());
+    }
+
+    public static TaskChangedEvent bulkUpdated(Map<UUID, Status> previousStatuses, List<TaskResponseDTO> tasks) {
+        return new TaskChangedEvent(ChangeType.UPDATED, true, tasks, previousStatuses);
+    }
+
+    /**
+     * @param previousStatuses the status of every deleted task, keyed by its id
+     */
+    public static TaskChangedEvent bulkDeleted(Map<UUID, Status> previousStatuses) {
+        return new TaskChangedEvent(ChangeType.DELETED, true, List.of(), previousStatuses);
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    public boolean isBulk() {
+        return bulk;
+    }
+
+    /**
+     * @return the tasks after the write, empty for deletions
+     */
+    public List<TaskResponseDTO> getTasks() {
+        return tasks;
+    }
+
+    /**
+     * @return the status every task had before the write, keyed by task id; empty for creations
+     */
+    public Map<UUID, Status> getPreviousStatuses() {
+        return previousStatuses;
+    }
+}
@@ -0,0 +1,29 @@
+package com.hivetech.kanban.event;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.UUID;
+
+/**
+ * Published whenever a user row is written, so that anything derived from the user can be refreshed. Also sent
+ * to the other instances over the {@link com.hivetech.kanban.cluster.ClusterEventBus}, hence readable from JSON.
+ */
+public class UserChangedEvent {
+    private final UUID userId;
+    private final String email;
+
+    @JsonCreator
+    public UserChangedEvent(@JsonProperty("userId") UUID userId, @JsonProperty("email") String email) {
+        this.userId = userId;
+        this.email = email;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+}
@@ -0,0 +1,7 @@
+package com.hivetech.kanban.exception;
+
+public class BulkSizeExceededException extends RuntimeException {
+    public BulkSizeExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.hivetech.kanban.exception;
+
+public class DuplicateTaskIdException extends RuntimeException {
+    public DuplicateTaskIdException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.hivetech.kanban.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
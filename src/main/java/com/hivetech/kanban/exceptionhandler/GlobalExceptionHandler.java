@@ -3,22 +3,38 @@ package com.hivetech.kanban.exceptionhandler;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.github.fge.jsonpatch.JsonPatchException;
 import com.hivetech.kanban.dto.ErrorResponse;
+import com.hivetech.kanban.exception.BulkSizeExceededException;
+import com.hivetech.kanban.exception.ChangesExpiredException;
+import com.hivetech.kanban.exception.DuplicateTaskIdException;
+import com.hivetech.kanban.exception.InvalidCursorException;
+import com.hivetech.kanban.exception.PreconditionFailedException;
 import com.hivetech.kanban.exception.ResourceNotFoundException;
+import com.hivetech.kanban.util.TaskETagUtil;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.context.MessageSourceResolvable;
 import org.springframework.validation.FieldError;
+import org.springframework.validation.method.ParameterErrors;
+import org.springframework.validation.method.ParameterValidationResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
+    private static final String RETRY_AFTER_SECONDS = "1";
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleResourceNotFound(ResourceNotFoundException ex, HttpServletRequest req) {
         ErrorResponse error = new ErrorResponse(
@@ -41,7 +57,73 @@ public class GlobalExceptionHandler {
 
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailed(PreconditionFailedException ex, HttpServletRequest req) {
+        ErrorResponse error = new ErrorResponse(
+                "Precondition Failed",
+                ex.getMessage(),
+                req.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+    }
+
+    /**
+     * A concurrent write got in between reading and writing a task. Requests whose If-Match expected a version
+     * fail their precondition; anything else, including {@code If-Match: *}, conflicts with the other write.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(OptimisticLockingFailureException ex, HttpServletRequest req) {
+        HttpStatus status = expectedVersion(req) ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT;
+        ErrorResponse error = new ErrorResponse(
+                status.getReasonPhrase(),
+                "Task was modified concurrently, please reload it and retry",
+                req.getRequestURI()
+        );
+        return ResponseEntity.status(status).body(error);
+    }
+
+    @ExceptionHandler(ChangesExpiredException.class)
+    public ResponseEntity<ErrorResponse> handleChangesExpired(ChangesExpiredException ex, HttpServletRequest req) {
+        ErrorResponse error = new ErrorResponse(
+                "Changes Expired",
+                ex.getMessage(),
+                req.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.GONE).body(error);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursor(InvalidCursorException ex, HttpServletRequest req) {
+        ErrorResponse error = new ErrorResponse(
+                "Invalid Cursor",
+                ex.getMessage(),
+                req.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    @ExceptionHandler(BulkSizeExceededException.class)
+    public ResponseEntity<ErrorResponse> handleBulkSizeExceeded(BulkSizeExceededException ex, HttpServletRequest req) {
+        ErrorResponse error = new ErrorResponse(
+                "Too Many Tasks",
+                ex.getMessage(),
+                req.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    @ExceptionHandler(DuplicateTaskIdException.class)
+    public ResponseEntity<ErrorResponse> handleDuplicateTaskId(DuplicateTaskIdException ex, HttpServletRequest req) {
+        ErrorResponse error = new ErrorResponse(
+                "Duplicate Task",
+                ex.getMessage(),
+                req.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
     public Map<String, String> handleValidationErrors(MethodArgumentNotValidException ex) {
         Map<String, String> errors = new HashMap<>();
         for (FieldError err : ex.getBindingResult().getFieldErrors()) {
@@ -50,6 +132,31 @@ public class GlobalExceptionHandler {
         return errors;
     }
 
+    /**
+     * Constraints on the elements of list bodies, such as the items of bulk writes. Errors are keyed by the index
+     * of the item, followed by the field for constraints on the item's fields, e.g. {@code [2].id}.
+     */
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleMethodValidationErrors(HandlerMethodValidationException ex) {
+        Map<String, String> errors = new HashMap<>();
+        for (ParameterValidationResult result : ex.getParameterValidationResults()) {
+            String prefix = result.getContainerIndex() != null
+                    ? "[" + result.getContainerIndex() + "]"
+                    : result.getMethodParameter().getParameterName();
+            if (result instanceof ParameterErrors parameterErrors) {
+                for (FieldError err : parameterErrors.getFieldErrors()) {
+                    errors.put(prefix + "." + err.getField(), err.getDefaultMessage());
+                }
+            } else {
+                for (MessageSourceResolvable err : result.getResolvableErrors()) {
+                    errors.put(prefix, err.getDefaultMessage());
+                }
+            }
+        }
+        return errors;
+    }
+
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<ErrorResponse> handleBadCredentials(BadCredentialsException ex, HttpServletRequest req) {
         ErrorResponse error = new ErrorResponse(
@@ -60,6 +167,18 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
     }
 
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleRejectedExecution(RejectedExecutionException ex, HttpServletRequest req) {
+        ErrorResponse error = new ErrorResponse(
+                "Too Many Requests",
+                "Server is busy, please retry later",
+                req.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(error);
+    }
+
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<ErrorResponse> handleJsonParseError(HttpMessageNotReadableException ex, HttpServletRequest req) {
         ErrorResponse error = new ErrorResponse(
@@ -81,4 +200,13 @@ public class GlobalExceptionHandler {
         );
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
     }
+
+    private static boolean expectedVersion(HttpServletRequest req) {
+        try {
+            return TaskETagUtil.expectedVersion(req.getHeader(HttpHeaders.IF_MATCH)) != null;
+        } catch (PreconditionFailedException e) {
+            // not a tag of a task version; the controller rejects these before writing
+            return true;
+        }
+    }
 }
@@ -0,0 +1,73 @@
+package com.hivetech.kanban.interceptor;
+
+import com.hivetech.kanban.service.TaskEventHistory;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Replays the task events a subscriber missed while disconnected. A client subscribing to a task topic with
+ * the {@code resume-token} header of the last frame it received gets every later frame sent to that
+ * subscription before any new one. Publishing to the destination is held back while the broker registers the
+ * subscription and the missed frames are picked, so no frame is lost or delivered twice in between. Live frames
+ * for the subscription are then held back on the client outbound channel until the replayed frame has been
+ * handled, so none overtakes it. The interceptor is therefore registered on both client channels.
+ */
+@Component
+public class TaskEventReplayInterceptor implements ExecutorChannelInterceptor {
+    public static final String RESUME_TOKEN_HEADER = "resume-token";
+    private static final String TASKS_TOPIC_PREFIX = "/topic/tasks";
+
+    private final TaskEventHistory taskEventHistory;
+
+    public TaskEventReplayInterceptor(TaskEventHistory taskEventHistory) {
+        this.taskEventHistory = taskEventHistory;
+    }
+
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+        return taskEventHistory.holdBehindReplay(message);
+    }
+
+    @Override
+    public Message<?> beforeHandle(@NonNull Message<?> message, @NonNull MessageChannel channel, @NonNull MessageHandler handler) {
+        StompHeaderAccessor accessor = resumingSubscription(message, handler);
+        if (accessor != null) {
+            taskEventHistory.lockForReplay(accessor.getDestination());
+        }
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(@NonNull Message<?> message, @NonNull MessageChannel channel, @NonNull MessageHandler handler, Exception ex) {
+        taskEventHistory.replayHandled(message);
+        StompHeaderAccessor accessor = resumingSubscription(message, handler);
+        if (accessor != null) {
+            taskEventHistory.replay(accessor.getDestination(), accessor.getSessionId(), accessor.getSubscriptionId(),
+                    accessor.getFirstNativeHeader(RESUME_TOKEN_HEADER));
+        }
+    }
+
+    /**
+     * @return the headers of a subscription to a task topic that carries a resume token, as seen by the broker
+     */
+    private static StompHeaderAccessor resumingSubscription(Message<?> message, MessageHandler handler) {
+        if (!(handler instanceof SimpleBrokerMessageHandler)) {
+            return null;
+        }
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+        String destination = accessor.getDestination();
+        if (accessor.getCommand() != StompCommand.SUBSCRIBE || destination == null
+                || !destination.startsWith(TASKS_TOPIC_PREFIX)
+                || accessor.getFirstNativeHeader(RESUME_TOKEN_HEADER) == null) {
+            return null;
+        }
+        return accessor;
+    }
+}
@@ -1,7 +1,6 @@
 package com.hivetech.kanban.interceptor;
 
-import com.hivetech.kanban.service.UserDetailService;
-import com.hivetech.kanban.util.JwtUtil;
+import com.hivetech.kanban.security.JwtAuthenticationResolver;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.server.ServerHttpRequest;
 import org.springframework.http.server.ServerHttpResponse;
@@ -18,12 +17,10 @@ import java.util.Map;
 @Component
 public class WebSocketHandshakeInterceptor implements HandshakeInterceptor {
 
-    private final JwtUtil jwtUtil;
-    private final UserDetailService userDetailsService;
+    private final JwtAuthenticationResolver authenticationResolver;
 
-    public WebSocketHandshakeInterceptor(JwtUtil jwtUtil, UserDetailService userDetailsService) {
-        this.jwtUtil = jwtUtil;
-        this.userDetailsService = userDetailsService;
+    public WebSocketHandshakeInterceptor(JwtAuthenticationResolver authenticationResolver) {
+        this.authenticationResolver = authenticationResolver;
     }
 
     @Override
@@ -50,15 +47,7 @@ public class WebSocketHandshakeInterceptor implements HandshakeInterceptor {
         }
 
         try {
-            String username = jwtUtil.extractUsername(token);
-            if (username == null) {
-                return false;
-            }
-
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            if (!jwtUtil.isTokenValid(token, userDetails.getUsername())) {
-                return false;
-            }
+            UserDetails userDetails = authenticationResolver.resolve(token);
 
             Authentication auth = new UsernamePasswordAuthenticationToken(
                     userDetails,
@@ -0,0 +1,117 @@
+package com.hivetech.kanban.interceptor;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks how many messages are queued for every connected session: counted when the broker hands a message
+ * to the client outbound channel, and uncounted once it has been written to the session. This covers both the
+ * outbound channel queue and the send buffer of a slow session.
+ * Sessions are not used as tags, which would create a series per browser tab; instead the depths are
+ * exported as the {@code kanban.websocket.session.queue.depth} distribution, sampled whenever a message is
+ * queued, and as the maximum and total over all sessions.
+ */
+@Component
+public class WebSocketSendQueueMetrics implements ChannelInterceptor, WebSocketHandlerDecoratorFactory {
+
+    private final Map<String, AtomicInteger> queuedPerSession = new ConcurrentHashMap<>();
+    private final DistributionSummary queueDepth;
+
+    public WebSocketSendQueueMetrics(MeterRegistry meterRegistry) {
+        this.queueDepth = DistributionSummary.builder("kanban.websocket.session.queue.depth")
+                .description("Messages queued for a session, sampled whenever a message is queued")
+                .register(meterRegistry);
+        Gauge.builder("kanban.websocket.session.queue.depth.max", this, WebSocketSendQueueMetrics::maxQueueDepth)
+                .description("Messages queued for the session with the longest queue")
+                .register(meterRegistry);
+        Gauge.builder("kanban.websocket.session.queue.depth.total", this, WebSocketSendQueueMetrics::totalQueueDepth)
+                .description("Messages queued over all sessions")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Counts a message queued on the client outbound channel for its session.
+     */
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        AtomicInteger queued = sessionId != null ? queuedPerSession.get(sessionId) : null;
+        if (queued != null) {
+            queueDepth.record(queued.incrementAndGet());
+        }
+        return message;
+    }
+
+    /**
+     * Registers every session when it connects and hands the STOMP handler a session that uncounts the
+     * messages written to it.
+     */
+    @Override
+    public WebSocketHandler decorate(@NonNull WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(@NonNull WebSocketSession session) throws Exception {
+                AtomicInteger queued = new AtomicInteger();
+                queuedPerSession.put(session.getId(), queued);
+                super.afterConnectionEstablished(new CountingSession(session, queued));
+            }
+
+            @Override
+            public void afterConnectionClosed(@NonNull WebSocketSession session, @NonNull CloseStatus closeStatus) throws Exception {
+                queuedPerSession.remove(session.getId());
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    int queueDepth(String sessionId) {
+        AtomicInteger queued = queuedPerSession.get(sessionId);
+        return queued != null ? queued.get() : 0;
+    }
+
+    private double maxQueueDepth() {
+        return queuedPerSession.values().stream().mapToInt(AtomicInteger::get).max().orElse(0);
+    }
+
+    private double totalQueueDepth() {
+        return queuedPerSession.values().stream().mapToInt(AtomicInteger::get).sum();
+    }
+
+    private static final class CountingSession extends WebSocketSessionDecorator {
+        private final AtomicInteger queued;
+
+        private CountingSession(WebSocketSession session, AtomicInteger queued) {
+            super(session);
+            this.queued = queued;
+        }
+
+        @Override
+        public void sendMessage(@NonNull WebSocketMessage<?> message) throws IOException {
+            try {
+                super.sendMessage(message);
+            } finally {
+                // frames the STOMP handler writes on its own, e.g. errors, were never counted
+                queued.updateAndGet(count -> Math.max(0, count - 1));
+            }
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.hivetech.kanban.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.hivetech.kanban.util.TimeOrderedUuidGenerator;
 import jakarta.persistence.*;
+import org.hibernate.annotations.UuidGenerator;
 import java.util.UUID;
 
 @Entity
@@ -8,7 +11,7 @@ import java.util.UUID;
 public class Task {
     @Id
     @Column(name = "id", updatable = false, nullable = false)
-    @GeneratedValue(generator = "UUID")
+    @UuidGenerator(algorithm = TimeOrderedUuidGenerator.class)
     private UUID id;
     private String title;
     private String description;
@@ -18,6 +21,10 @@ public class Task {
     private Priority priority;
     @Version
     private int version;
+    // assigned by the database on every insert and update, see V4__create_task_change_log.sql
+    @JsonIgnore
+    @Column(name = "change_seq", insertable = false, updatable = false)
+    private Long changeSeq;
 
     public Task(){}
 
@@ -76,4 +83,8 @@ public class Task {
     public void setVersion(int version) {
         this.version = version;
     }
+
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
 }
@@ -0,0 +1,42 @@
+package com.hivetech.kanban.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Left behind by a deleted task so that clients syncing changes learn about the deletion.
+ * Written by a database trigger, never by the application.
+ */
+@Entity
+@Table(name = "\"task_tombstones\"")
+public class TaskTombstone {
+    @Id
+    @Column(name = "seq", updatable = false, nullable = false)
+    private Long seq;
+    @Column(name = "task_id", updatable = false, nullable = false)
+    private UUID taskId;
+    @Column(name = "deleted_at", updatable = false, nullable = false)
+    private Instant deletedAt;
+
+    public TaskTombstone(){}
+
+    public TaskTombstone(Long seq, UUID taskId, Instant deletedAt) {
+        this.seq = seq;
+        this.taskId = taskId;
+        this.deletedAt = deletedAt;
+    }
+
+    public Long getSeq() {
+        return seq;
+    }
+
+    public UUID getTaskId() {
+        return taskId;
+    }
+
+    public Instant getDeletedAt() {
+        return deletedAt;
+    }
+}
@@ -1,6 +1,8 @@
 package com.hivetech.kanban.model;
 
+import com.hivetech.kanban.util.TimeOrderedUuidGenerator;
 import jakarta.persistence.*;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.util.UUID;
 
@@ -10,7 +12,7 @@ import java.util.UUID;
 public class User {
     @Id
     @Column(name = "id", updatable = false, nullable = false)
-    @GeneratedValue(generator = "UUID")
+    @UuidGenerator(algorithm = TimeOrderedUuidGenerator.class)
     private UUID id;
 
     @Column(name = "first_name")
@@ -25,6 +27,9 @@ public class User {
     @Column(name = "password", nullable = false)
     private String password;
 
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
+
     public User() {
 
     }
@@ -75,4 +80,12 @@ public class User {
     public void setPassword(String password) {
         this.password = password;
     }
+
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(int tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
 }
@@ -1,16 +1,136 @@
 package com.hivetech.kanban.repository;
 
+import com.hivetech.kanban.dto.TaskResponseDTO;
+import com.hivetech.kanban.model.Priority;
 import com.hivetech.kanban.model.Status;
 import com.hivetech.kanban.model.Task;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, UUID> {
-    Page<Task> findByStatus(Status status, Pageable pageable);
-    Page<Task> findAll(Pageable pageable);
+    /**
+     * Builds {@link TaskResponseDTO}s straight from the result set, so list reads never hydrate managed entities.
+     */
+    String TASK_DTO_SELECT = "select new com.hivetech.kanban.dto.TaskResponseDTO("
+            + "t.id, t.title, t.description, t.status, t.priority, t.version) from Task t";
+
+    /**
+     * Returns an updated row as {@link UpdatedTask}, together with the status read by a {@code previous} CTE.
+     */
+    String UPDATED_TASK_RETURNING = " RETURNING t.id AS id, t.title AS title, t.description AS description,"
+            + " t.status AS status, t.priority AS priority, t.version AS version,"
+            + " previous.status AS \"previousStatus\"";
+
+    @Query(value = TASK_DTO_SELECT, countQuery = "select count(t) from Task t")
+    Page<TaskResponseDTO> findAllTaskDTOs(Pageable pageable);
+
+    @Query(value = TASK_DTO_SELECT + " where t.status = :status",
+            countQuery = "select count(t) from Task t where t.status = :status")
+    Page<TaskResponseDTO> findTaskDTOsByStatus(@Param("status") Status status, Pageable pageable);
+
+    @Query(TASK_DTO_SELECT)
+    Slice<TaskResponseDTO> findTaskDTOSlice(Pageable pageable);
+
+    @Query(TASK_DTO_SELECT + " where t.status = :status")
+    Slice<TaskResponseDTO> findTaskDTOSliceByStatus(@Param("status") Status status, Pageable pageable);
+
+    /**
+     * Streams task DTOs over a server-side cursor. Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(TASK_DTO_SELECT + " order by t.id")
+    Stream<TaskResponseDTO> streamAllTaskDTOs();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(TASK_DTO_SELECT + " where t.status = :status order by t.id")
+    Stream<TaskResponseDTO> streamTaskDTOsByStatus(@Param("status") Status status);
+
+    long countByStatus(Status status);
+    Window<Task> findAllByOrderByIdAsc(ScrollPosition position, Limit limit);
+    Window<Task> findByStatusOrderByIdAsc(Status status, ScrollPosition position, Limit limit);
+
+    /**
+     * Tasks written after the given change sequence value and below the bound, oldest change first
+     * (idx_tasks_change_seq).
+     */
+    List<Task> findByChangeSeqGreaterThanAndChangeSeqLessThanOrderByChangeSeqAsc(long changeSeq, long bound, Limit limit);
+
+    /**
+     * Moves a task to another status in a single round trip: the version is checked and incremented by the
+     * UPDATE itself, exactly like the versioned update of the entity, and the new row is returned together
+     * with the status it had before. That status is read with FOR UPDATE, which waits for a concurrent write
+     * of the task and then reads the row it committed; a plain join would keep the status from the start of
+     * the statement. Tasks of the persistence context are not refreshed. A null version moves the task
+     * unconditionally.
+     * @return the moved task, empty if no task has the id and version
+     */
+    @Transactional
+    @Query(value = "WITH previous AS (SELECT id, status FROM tasks WHERE id = :id FOR UPDATE)"
+            + " UPDATE tasks t SET status = :status, version = t.version + 1"
+            + " FROM previous"
+            + " WHERE t.id = previous.id"
+            + " AND t.version = COALESCE(CAST(:version AS integer), t.version)"
+            + UPDATED_TASK_RETURNING,
+            nativeQuery = true)
+    Optional<UpdatedTask> moveTask(@Param("id") UUID id, @Param("status") String status, @Param("version") Integer version);
+
+    /**
+     * Replaces the editable fields of a task in a single round trip, like {@link #moveTask}.
+     * @return the updated task, empty if no task has the id and version
+     */
+    @Transactional
+    @Query(value = "WITH previous AS (SELECT id, status FROM tasks WHERE id = :id FOR UPDATE)"
+            + " UPDATE tasks t SET title = :title, description = :description, status = :status,"
+            + " priority = :priority, version = t.version + 1"
+            + " FROM previous"
+            + " WHERE t.id = previous.id"
+            + " AND t.version = COALESCE(CAST(:version AS integer), t.version)"
+            + UPDATED_TASK_RETURNING,
+            nativeQuery = true)
+    Optional<UpdatedTask> updateTask(@Param("id") UUID id, @Param("title") String title,
+                                     @Param("description") String description, @Param("status") String status,
+                                     @Param("priority") String priority, @Param("version") Integer version);
+
+    /**
+     * Deletes a task in a single round trip if it still has the version; a null version deletes it
+     * unconditionally. Tasks of the persistence context are not detached.
+     * @return the status the deleted task had, empty if no task has the id and version
+     */
+    @Transactional
+    @Query(value = "DELETE FROM tasks WHERE id = :id AND version = COALESCE(CAST(:version AS integer), version)"
+            + " RETURNING status",
+            nativeQuery = true)
+    Optional<Status> deleteTask(@Param("id") UUID id, @Param("version") Integer version);
+
+    /**
+     * A task as returned by {@link #moveTask} and {@link #updateTask}.
+     */
+    interface UpdatedTask {
+        UUID getId();
+        String getTitle();
+        String getDescription();
+        Status getStatus();
+        Priority getPriority();
+        int getVersion();
+        Status getPreviousStatus();
+    }
 }
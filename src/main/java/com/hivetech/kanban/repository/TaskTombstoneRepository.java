@@ -0,0 +1,44 @@
+package com.hivetech.kanban.repository;
+
+import com.hivetech.kanban.model.TaskTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+    List<TaskTombstone> findBySeqGreaterThanAndSeqLessThanOrderBySeqAsc(long seq, long bound, Limit limit);
+
+    /**
+     * The highest change sequence value of a pruned tombstone, 0 if none was pruned yet.
+     */
+    @Query(value = "SELECT pruned_seq FROM task_change_floor", nativeQuery = true)
+    long findPrunedSeq();
+
+    /**
+     * The bound below which every change sequence value is either committed or rolled back: the lower of the
+     * next value of the sequence and the lowest key of the advisory locks that running writers take before their
+     * first value (see V5__bound_task_change_log.sql and V6__task_change_visible_bound.sql). Read it before the
+     * rows, so a writer committing in between cannot be skipped.
+     */
+    @Query(value = "SELECT task_change_visible_bound()", nativeQuery = true)
+    long findVisibleChangeSeqBound();
+
+    /**
+     * Deletes the tombstones of tasks deleted before the cutoff and raises the pruned floor to the highest
+     * value deleted, in one statement.
+     * @return the number of tombstones deleted
+     */
+    @Transactional
+    @Query(value = "WITH pruned AS (DELETE FROM task_tombstones WHERE deleted_at < :cutoff RETURNING seq),"
+            + " floor AS (UPDATE task_change_floor SET pruned_seq = GREATEST(pruned_seq, (SELECT max(seq) FROM pruned)))"
+            + " SELECT count(*) FROM pruned",
+            nativeQuery = true)
+    long pruneDeletedBefore(@Param("cutoff") Instant cutoff);
+}
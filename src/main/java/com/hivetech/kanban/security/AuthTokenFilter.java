@@ -1,7 +1,5 @@
 package com.hivetech.kanban.security;
 
-import com.hivetech.kanban.service.UserDetailService;
-import com.hivetech.kanban.util.JwtUtil;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,20 +21,21 @@ import java.util.logging.Logger;
  */
 @Component
 public class AuthTokenFilter extends OncePerRequestFilter {
-    private final UserDetailService userService;
-    private final JwtUtil jwtUtil;
+    private final JwtAuthenticationResolver authenticationResolver;
+    private final RateLimitFilter rateLimitFilter;
 
     Logger logger = Logger.getLogger(String.valueOf(AuthTokenFilter.class));
 
-    public AuthTokenFilter(UserDetailService userService, JwtUtil jwtUtil){
-        this.userService = userService;
-        this.jwtUtil = jwtUtil;
+    public AuthTokenFilter(JwtAuthenticationResolver authenticationResolver, RateLimitFilter rateLimitFilter){
+        this.authenticationResolver = authenticationResolver;
+        this.rateLimitFilter = rateLimitFilter;
     }
 
     /**
-     * Processes the request based on the jwtToken found inside. Tries to retrieve a user from the database
-     * and return appropriate response. In case of user not existing or an invalid token, the response is
-     * SC_FORBIDDEN (403) and nothing is returned. Otherwise, the response is 200.
+     * Processes the request based on the jwtToken found inside. Tries to resolve the user from the token
+     * and return appropriate response. In case of user not existing or an invalid or revoked token, the response is
+     * SC_FORBIDDEN (403) and nothing is returned, or SC_TOO_MANY_REQUESTS (429) once the client's IP address sent
+     * too many such requests. Otherwise, the response is 200.
      *
      * @param request HttpServletRequest
      * @param response HttpServletResponse
@@ -56,29 +55,30 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         // jwt token is everything after "Bearer " (7)
         String jwtToken = requestTokenHeader.substring(7);
         try {
-            // extract username from jwt token to check whether they already exist in db
-            String username = jwtUtil.extractUsername(jwtToken);
-
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                // getting user details from db
-                UserDetails userDetails = this.userService.loadUserByUsername(username);
-
-                // check if the user is valid or not
-                if (jwtUtil.isTokenValid(jwtToken, userDetails.getUsername())) {
-                    // this token is needed by spring and security context holder to update security context
-                    UsernamePasswordAuthenticationToken authentication =
-                            new UsernamePasswordAuthenticationToken(
-                                    userDetails,
-                                    null,
-                                    userDetails.getAuthorities()
-                            );
-
-                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                } else {
-                    response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails;
+                try {
+                    // resolve the user from the token claims, loading it from db only for tokens without them
+                    userDetails = authenticationResolver.resolve(jwtToken);
+                } catch (Exception e) {
+                    logger.log(Level.WARNING, e.getMessage());
+                    // rejected before the rate limiter runs, so count it against the IP address here
+                    if (rateLimitFilter.tryConsumeRejected(request, response)) {
+                        response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+                    }
                     return;
                 }
+
+                // this token is needed by spring and security context holder to update security context
+                UsernamePasswordAuthenticationToken authentication =
+                        new UsernamePasswordAuthenticationToken(
+                                userDetails,
+                                null,
+                                userDetails.getAuthorities()
+                        );
+
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authentication);
             } else {
                 response.setStatus(HttpServletResponse.SC_FORBIDDEN);
                 return;
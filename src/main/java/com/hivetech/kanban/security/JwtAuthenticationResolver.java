@@ -0,0 +1,74 @@
+package com.hivetech.kanban.security;
+
+import com.hivetech.kanban.service.UserDetailService;
+import com.hivetech.kanban.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.CredentialsExpiredException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Resolves the user a jwt token was issued to, shared by the http filter and the websocket handshake.
+ * With {@code jwt.stateless-authentication} enabled, tokens carrying the user id and token version claims
+ * are resolved from the claims alone; older tokens and the stateful mode load the user from the database.
+ */
+@Component
+public class JwtAuthenticationResolver {
+    private final JwtUtil jwtUtil;
+    private final UserDetailService userDetailService;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final boolean statelessAuthentication;
+
+    public JwtAuthenticationResolver(
+            JwtUtil jwtUtil,
+            UserDetailService userDetailService,
+            TokenVersionRegistry tokenVersionRegistry,
+            @Value("${jwt.stateless-authentication:true}") boolean statelessAuthentication
+    ) {
+        this.jwtUtil = jwtUtil;
+        this.userDetailService = userDetailService;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.statelessAuthentication = statelessAuthentication;
+    }
+
+    /**
+     * Verifies the token and resolves the user it was issued to.
+     * @param token the jwt token
+     * @return UserDetails of the token's user
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, its signature is invalid or it is expired
+     * @throws org.springframework.security.core.AuthenticationException if the token is revoked
+     * or its user does not exist
+     */
+    public UserDetails resolve(String token) {
+        Claims claims = jwtUtil.verifyToken(token);
+        String username = claims.getSubject();
+        if (username == null) {
+            throw new BadCredentialsException("Token has no subject");
+        }
+
+        String userId = claims.get(JwtUtil.USER_ID_CLAIM, String.class);
+        Integer tokenVersion = claims.get(JwtUtil.TOKEN_VERSION_CLAIM, Integer.class);
+        if (userId == null || tokenVersion == null) {
+            return loadUser(username);
+        }
+
+        UUID id = UUID.fromString(userId);
+        if (!tokenVersionRegistry.isCurrent(id, tokenVersion)) {
+            throw new CredentialsExpiredException("Token has been revoked");
+        }
+        return statelessAuthentication ? new JwtUserPrincipal(id, username, tokenVersion) : loadUser(username);
+    }
+
+    private UserDetails loadUser(String username) {
+        UserDetails userDetails = userDetailService.loadUserByUsername(username);
+        // check if the token belongs to the loaded user
+        if (!username.equals(userDetails.getUsername())) {
+            throw new BadCredentialsException("Token does not belong to " + userDetails.getUsername());
+        }
+        return userDetails;
+    }
+}
@@ -0,0 +1,47 @@
+package com.hivetech.kanban.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.UUID;
+
+/**
+ * Principal built from the claims of a verified jwt token alone, without loading the user from the database.
+ * It carries no password and, like the users loaded by {@code UserDetailService}, no authorities.
+ */
+public class JwtUserPrincipal implements UserDetails {
+    private final UUID id;
+    private final String email;
+    private final int tokenVersion;
+
+    public JwtUserPrincipal(UUID id, String email, int tokenVersion) {
+        this.id = id;
+        this.email = email;
+        this.tokenVersion = tokenVersion;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return Collections.emptyList();
+    }
+}
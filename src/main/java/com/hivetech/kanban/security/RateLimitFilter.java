@@ -0,0 +1,188 @@
+package com.hivetech.kanban.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hivetech.kanban.config.RateLimitProperties;
+import com.hivetech.kanban.dto.ErrorResponse;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Component that limits the request rate of every client per configured route with token buckets.
+ * Runs after {@link AuthTokenFilter}, so authenticated requests are limited per user and anonymous
+ * requests per IP address. Requests whose token {@link AuthTokenFilter} rejects never get here and are
+ * counted against their IP address through {@link #tryConsumeRejected}. The IP address is the one the
+ * server resolved, i.e. the forwarded client address behind a trusted proxy (see
+ * {@code server.forward-headers-strategy}). Requests over the limit are answered with
+ * SC_TOO_MANY_REQUESTS (429) and a {@code Retry-After} header, and counted in {@code kanban.rate.limit.rejected}.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+    static final String REMAINING_HEADER = "X-Rate-Limit-Remaining";
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final List<LimitedRoute> routes;
+    // buckets are lock-free; idle clients are dropped so the map stays bounded
+    private final Cache<String, Bucket> buckets;
+
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.routes = properties.getRoutes().stream()
+                .map(route -> new LimitedRoute(route, PathPatternParser.defaultInstance.parse(route.getPattern())))
+                .toList();
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumClients())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.isEnabled() || routes.isEmpty();
+    }
+
+    /**
+     * Consumes a token from the client's bucket of the first route matching the request.
+     * Requests matching no route pass through unlimited.
+     *
+     * @param request HttpServletRequest
+     * @param response HttpServletResponse
+     * @param filterChain FilterChain
+     * @throws ServletException if an error with servlet occurs
+     * @throws IOException if an error with input/output occurs
+     */
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain) throws ServletException, IOException {
+        LimitedRoute route = findRoute(request);
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        UserDetails user = authenticatedUser();
+        if (tryConsume(route, user != null ? "user" : "ip", clientId(user, request), request, response)) {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    /**
+     * Counts a request whose bearer token was rejected against the bucket of its IP address, so that clients
+     * sending invalid tokens are limited like anonymous ones.
+     * @param request HttpServletRequest
+     * @param response HttpServletResponse
+     * @return true if the request is within the limit, false if it was answered with SC_TOO_MANY_REQUESTS (429)
+     * @throws IOException if an error with input/output occurs
+     */
+    public boolean tryConsumeRejected(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (shouldNotFilter(request)) {
+            return true;
+        }
+        LimitedRoute route = findRoute(request);
+        return route == null || tryConsume(route, "ip", request.getRemoteAddr(), request, response);
+    }
+
+    /**
+     * Consumes a token from the client's bucket of the route, or answers the request with SC_TOO_MANY_REQUESTS (429).
+     */
+    private boolean tryConsume(LimitedRoute route, String clientType, String clientId,
+                               HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Bucket bucket = buckets.get(route.name() + "|" + clientType + ":" + clientId, key -> newBucket(route.route()));
+        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+
+        if (probe.isConsumed()) {
+            response.setHeader(REMAINING_HEADER, String.valueOf(probe.getRemainingTokens()));
+            return true;
+        }
+
+        rejectedCounter(route.name(), clientType).increment();
+        // rounded up, so clients retrying on time find a token
+        long retryAfterSeconds = Math.max(1, (probe.getNanosToWaitForRefill() + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(
+                "Too Many Requests",
+                "Rate limit exceeded, retry after " + retryAfterSeconds + " seconds",
+                request.getRequestURI()
+        ));
+        return false;
+    }
+
+    private LimitedRoute findRoute(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (LimitedRoute route : routes) {
+            if (route.pattern().matches(path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private static String clientId(UserDetails user, HttpServletRequest request) {
+        if (user instanceof JwtUserPrincipal principal) {
+            return principal.getId().toString();
+        }
+        return user != null ? user.getUsername() : request.getRemoteAddr();
+    }
+
+    private static UserDetails authenticatedUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserDetails user) {
+            return user;
+        }
+        return null;
+    }
+
+    private static Bucket newBucket(RateLimitProperties.Route route) {
+        return Bucket.builder()
+                .addLimit(Bandwidth.builder()
+                        .capacity(route.getCapacity())
+                        .refillGreedy(route.getCapacity(), route.getPeriod())
+                        .build())
+                .build();
+    }
+
+    private Counter rejectedCounter(String route, String clientType) {
+        // tagged by route and client type only, per-client tags would explode the series count
+        return Counter.builder("kanban.rate.limit.rejected")
+                .description("Requests rejected by the rate limiter")
+                .tag("route", route)
+                .tag("client", clientType)
+                .register(meterRegistry);
+    }
+
+    private record LimitedRoute(RateLimitProperties.Route route, PathPattern pattern) {
+        private String name() {
+            return route.getName() != null ? route.getName() : route.getPattern();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.hivetech.kanban.security;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.hivetech.kanban.cluster.ClusterEventBus;
+import com.hivetech.kanban.event.UserChangedEvent;
+import com.hivetech.kanban.repository.UserRepository;
+import com.hivetech.kanban.service.UserEventPublisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Keeps the current token version of recently active users in memory, so that revoked tokens are rejected
+ * without querying the database on every request. A version is loaded once per user and refreshed when the
+ * user changes on any instance, as relayed over the {@link ClusterEventBus} by {@link UserEventPublisher}.
+ * The ttl bounds how long a revocation whose message an instance missed, e.g. while reconnecting, goes unnoticed.
+ */
+@Component
+public class TokenVersionRegistry {
+    // users that no longer exist have no valid token version
+    private static final int UNKNOWN_USER = -1;
+
+    private final LoadingCache<UUID, Integer> tokenVersions;
+
+    public TokenVersionRegistry(
+            UserRepository userRepository,
+            ClusterEventBus clusterEventBus,
+            @Value("${jwt.token-versions.maximum-size:10000}") long maximumSize,
+            @Value("${jwt.token-versions.ttl:1m}") Duration ttl
+    ) {
+        this.tokenVersions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build(id -> userRepository.findTokenVersionById(id).orElse(UNKNOWN_USER));
+        clusterEventBus.subscribe(UserEventPublisher.CLUSTER_TOPIC, UserChangedEvent.class, this::onUserChanged);
+    }
+
+    /**
+     * Evaluates whether a token issued with the given version has not been revoked.
+     * @param userId the id of the user the token was issued to
+     * @param tokenVersion the token version claim of the token
+     * @return true if the version is the user's current version, false otherwise
+     */
+    public boolean isCurrent(UUID userId, int tokenVersion) {
+        return tokenVersions.get(userId) == tokenVersion;
+    }
+
+    /**
+     * Drops the cached version of a user changed on this or another instance, so it is reloaded on the next request.
+     * @param event the event describing the changed user
+     */
+    public void onUserChanged(UserChangedEvent event) {
+        tokenVersions.invalidate(event.getUserId());
+    }
+}
@@ -0,0 +1,114 @@
+package com.hivetech.kanban.service;
+
+import com.hivetech.kanban.cluster.ClusterEventBus;
+import com.hivetech.kanban.config.CacheConfig;
+import com.hivetech.kanban.event.TaskCacheEvictionEvent;
+import com.hivetech.kanban.model.Status;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Evicts only the cache entries a task write can make stale: the {@code task::<id>} entry and the
+ * {@code tasks} pages whose status filter could contain the task before or after the write.
+ * Page keys start with {@code <status>::}, where status is {@code null} for unfiltered pages.
+ * Evictions are sent over the {@link ClusterEventBus}, so every instance drops the same entries.
+ */
+@Service
+public class TaskCacheInvalidator {
+    public static final String CLUSTER_TOPIC = "task-cache";
+    private static final String KEY_SEPARATOR = "::";
+    private static final String UNFILTERED_PREFIX = Objects.toString(null) + KEY_SEPARATOR;
+
+    private final CacheManager cacheManager;
+    private final ClusterEventBus clusterEventBus;
+
+    public TaskCacheInvalidator(CacheManager cacheManager, ClusterEventBus clusterEventBus) {
+        this.cacheManager = cacheManager;
+        this.clusterEventBus = clusterEventBus;
+        clusterEventBus.subscribe(CLUSTER_TOPIC, TaskCacheEvictionEvent.class,
+                event -> doEvict(event.getIds(), event.getStatuses()));
+    }
+
+    /**
+     * Evicts the cached task and every cached page that could list it.
+     * @param id the id of the written task
+     * @param oldStatus status before the write, {@code null} for newly created tasks
+     * @param newStatus status after the write, {@code null} for deleted tasks
+     */
+    public void evict(UUID id, Status oldStatus, Status newStatus) {
+        Set<Status> statuses = EnumSet.noneOf(Status.class);
+        if (oldStatus != null) {
+            statuses.add(oldStatus);
+        }
+        if (newStatus != null) {
+            statuses.add(newStatus);
+        }
+        evict(List.of(id), statuses);
+    }
+
+    /**
+     * Evicts the cached tasks and, in a single pass over the page cache, every page that could list them.
+     * Inside a transaction the eviction is deferred until after commit, so concurrent reads cannot
+     * re-cache the state that is about to be replaced. Other instances evict the same entries once they
+     * receive the eviction.
+     * @param ids the ids of the written tasks
+     * @param statuses every status the tasks had before or after the write
+     */
+    public void evict(Collection<UUID> ids, Collection<Status> statuses) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishEviction(ids, statuses);
+                }
+            });
+        } else {
+            publishEviction(ids, statuses);
+        }
+    }
+
+    private void publishEviction(Collection<UUID> ids, Collection<Status> statuses) {
+        clusterEventBus.publish(CLUSTER_TOPIC, new TaskCacheEvictionEvent(ids, statuses));
+    }
+
+    private void doEvict(Collection<UUID> ids, Collection<Status> statuses) {
+        Cache taskCache = cacheManager.getCache(CacheConfig.TASK_CACHE);
+        if (taskCache != null) {
+            ids.forEach(taskCache::evict);
+        }
+
+        Cache tasksCache = cacheManager.getCache(CacheConfig.TASKS_CACHE);
+        if (tasksCache == null) {
+            return;
+        }
+        if (tasksCache instanceof CaffeineCache caffeineCache) {
+            List<String> prefixes = new ArrayList<>(statuses.size() + 1);
+            prefixes.add(UNFILTERED_PREFIX);
+            statuses.forEach(status -> prefixes.add(pageKeyPrefix(status)));
+
+            caffeineCache.getNativeCache().asMap().keySet().removeIf(key -> {
+                String pageKey = key.toString();
+                return prefixes.stream().anyMatch(pageKey::startsWith);
+            });
+        } else {
+            // no way to enumerate keys of an unknown provider
+            tasksCache.clear();
+        }
+    }
+
+    private static String pageKeyPrefix(Status status) {
+        return status.name() + KEY_SEPARATOR;
+    }
+}
@@ -0,0 +1,109 @@
+package com.hivetech.kanban.service;
+
+import com.hivetech.kanban.dto.TaskChangeDTO;
+import com.hivetech.kanban.dto.TaskChangesDTO;
+import com.hivetech.kanban.exception.ChangesExpiredException;
+import com.hivetech.kanban.model.Task;
+import com.hivetech.kanban.model.TaskTombstone;
+import com.hivetech.kanban.repository.TaskRepository;
+import com.hivetech.kanban.repository.TaskTombstoneRepository;
+import com.hivetech.kanban.util.TaskDTOMapperUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Serves the task change log, so reconnecting clients can catch up on what they missed instead of reloading
+ * the board. Every task write takes the next value of the {@code task_change_seq} sequence and every deletion
+ * leaves a tombstone with its own value; a task written several times only appears once, with its latest state.
+ * <p>
+ * Values are assigned when a row is written, not when the transaction commits, so a running transaction may
+ * still commit a value below one that is already visible. Changes are therefore only served below a bound taken
+ * before the rows are read, under the lowest value a running transaction may commit, and a cursor never moves
+ * past a change that is not visible yet.
+ * <p>
+ * Tombstones are pruned after {@code kanban.changes.tombstone-retention}. A cursor below the highest pruned
+ * value may have missed deletions, so such requests fail with a {@link ChangesExpiredException} and the
+ * client has to reload the board with {@code since=0}.
+ */
+@Service
+public class TaskChangeService {
+    private final Logger logger = Logger.getLogger(String.valueOf(TaskChangeService.class));
+
+    private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final TaskDTOMapperUtil taskDTOMapperUtil;
+    private final Duration tombstoneRetention;
+
+    public TaskChangeService(TaskRepository taskRepository,
+                             TaskTombstoneRepository taskTombstoneRepository,
+                             TaskDTOMapperUtil taskDTOMapperUtil,
+                             @Value("${kanban.changes.tombstone-retention:30d}") Duration tombstoneRetention) {
+        this.taskRepository = taskRepository;
+        this.taskTombstoneRepository = taskTombstoneRepository;
+        this.taskDTOMapperUtil = taskDTOMapperUtil;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    /**
+     * Returns the visible changes after the given sequence value, oldest first. Both sources are read with the
+     * limit plus one row, so whether more changes follow is known without a count.
+     * @param since the {@code nextSince} of the previous response, 0 to read the whole board
+     * @param limit maximum number of changes to return
+     * @return the changes together with the value to pass as {@code since} next time
+     * @throws ChangesExpiredException if tombstones after {@code since} have been pruned
+     */
+    @Transactional(readOnly = true)
+    public TaskChangesDTO getChangesSince(long since, int limit) {
+        // the bound is read before the rows: a writer committing after it is either below it and visible to the
+        // rows, or above it and served next time
+        long bound = taskTombstoneRepository.findVisibleChangeSeqBound();
+        List<Task> written = taskRepository.findByChangeSeqGreaterThanAndChangeSeqLessThanOrderByChangeSeqAsc(
+                since, bound, Limit.of(limit + 1));
+        List<TaskTombstone> deleted = taskTombstoneRepository.findBySeqGreaterThanAndSeqLessThanOrderBySeqAsc(
+                since, bound, Limit.of(limit + 1));
+        // checked after the rows were read, so a prune in between is noticed
+        if (since > 0 && since < taskTombstoneRepository.findPrunedSeq()) {
+            throw new ChangesExpiredException("Changes since " + since + " are no longer kept, reload the board with since=0");
+        }
+
+        List<TaskChangeDTO> changes = new ArrayList<>(Math.min(limit, written.size() + deleted.size()));
+        int writtenIndex = 0;
+        int deletedIndex = 0;
+        while (changes.size() < limit && (writtenIndex < written.size() || deletedIndex < deleted.size())) {
+            boolean takeWritten = deletedIndex == deleted.size()
+                    || (writtenIndex < written.size()
+                        && written.get(writtenIndex).getChangeSeq() < deleted.get(deletedIndex).getSeq());
+            if (takeWritten) {
+                Task task = written.get(writtenIndex++);
+                changes.add(new TaskChangeDTO(task.getChangeSeq(), TaskChangeDTO.UPSERTED, task.getId(), taskDTOMapperUtil.toDTO(task)));
+            } else {
+                TaskTombstone tombstone = deleted.get(deletedIndex++);
+                changes.add(new TaskChangeDTO(tombstone.getSeq(), TaskChangeDTO.DELETED, tombstone.getTaskId(), null));
+            }
+        }
+
+        boolean hasMore = writtenIndex < written.size() || deletedIndex < deleted.size();
+        long nextSince = changes.isEmpty() ? since : changes.getLast().getSeq();
+        return new TaskChangesDTO(changes, nextSince, hasMore);
+    }
+
+    /**
+     * Deletes the tombstones older than the retention; runs on every instance, which is harmless.
+     */
+    @Scheduled(fixedDelayString = "${kanban.changes.prune-interval:1h}", initialDelayString = "${kanban.changes.prune-interval:1h}")
+    public void pruneTombstones() {
+        long pruned = taskTombstoneRepository.pruneDeletedBefore(Instant.now().minus(tombstoneRetention));
+        if (pruned > 0) {
+            logger.info("Pruned " + pruned + " task tombstones older than " + tombstoneRetention);
+        }
+    }
+}
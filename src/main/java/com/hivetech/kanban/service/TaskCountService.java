@@ -0,0 +1,30 @@
+package com.hivetech.kanban.service;
+
+import com.hivetech.kanban.config.CacheConfig;
+import com.hivetech.kanban.dto.TaskCountDTO;
+import com.hivetech.kanban.model.Status;
+import com.hivetech.kanban.repository.TaskRepository;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serves task totals per status for clients that page without counts. Totals are cached for a short TTL
+ * and deliberately not evicted on writes, so they may lag behind the board by up to that TTL.
+ */
+@Service
+public class TaskCountService {
+    private final TaskRepository taskRepository;
+
+    public TaskCountService(TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+
+    @Cacheable(cacheNames = CacheConfig.TASK_COUNTS_CACHE, key = "T(java.util.Objects).toString(#status)")
+    public TaskCountDTO countTasks(Status status) {
+        long count = (status != null)
+                ? taskRepository.countByStatus(status)
+                : taskRepository.count();
+
+        return new TaskCountDTO(status != null ? status.name() : null, count);
+    }
+}
@@ -0,0 +1,205 @@
+package com.hivetech.kanban.service;
+
+import com.hivetech.kanban.dto.TaskWebSocketEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.MessagingException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Sends task events to STOMP destinations in batches. Events are buffered per destination for
+ * {@code kanban.websocket.batch-window} after the first event of a window, repeated events for the same task
+ * are collapsed to the latest one, and each destination then receives a single frame: the event itself,
+ * or a {@code BATCH} event whose data is the list of buffered events in order. A zero window sends every
+ * event immediately.
+ */
+@Service
+public class TaskEventBroadcaster {
+    static final String BATCH_EVENT = "BATCH";
+    private static final String CREATED_EVENT = "CREATED";
+    private static final String UPDATED_EVENT = "UPDATED";
+
+    private final Logger logger = Logger.getLogger(String.valueOf(TaskEventBroadcaster.class));
+
+    private final TaskEventHistory taskEventHistory;
+    private final Duration batchWindow;
+    private final ScheduledExecutorService flushScheduler;
+    private final Counter eventsCounter;
+    private final Counter coalescedCounter;
+    private final Counter framesCounter;
+    private final Counter framesSavedCounter;
+    private final Timer batchDelayTimer;
+
+    private final Object lock = new Object();
+    private Map<String, PendingFrame> pendingFrames = new LinkedHashMap<>();
+
+    public TaskEventBroadcaster(TaskEventHistory taskEventHistory,
+                                @Value("${kanban.websocket.batch-window:50ms}") Duration batchWindow,
+                                MeterRegistry meterRegistry) {
+        this.taskEventHistory = taskEventHistory;
+        this.batchWindow = batchWindow;
+        this.flushScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-event-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.eventsCounter = Counter.builder("kanban.websocket.events")
+                .description("Task events handed to the broadcaster")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("kanban.websocket.events.coalesced")
+                .description("Task events collapsed into a newer event for the same task")
+                .register(meterRegistry);
+        this.framesCounter = Counter.builder("kanban.websocket.frames")
+                .description("STOMP frames sent for task events")
+                .register(meterRegistry);
+        this.framesSavedCounter = Counter.builder("kanban.websocket.frames.saved")
+                .description("Frames saved by batching and coalescing task events")
+                .register(meterRegistry);
+        this.batchDelayTimer = Timer.builder("kanban.websocket.batch.delay")
+                .description("Time the oldest event of a frame waited for its batch to be sent")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Sends an event about a single task; it replaces a buffered event for the same task.
+     * @param destination the STOMP destination
+     * @param event the event
+     * @param taskId the id of the task the event is about
+     */
+    public void send(String destination, TaskWebSocketEvent event, UUID taskId) {
+        enqueue(destination, event, taskId, List.of());
+    }
+
+    /**
+     * Sends an event about several tasks. Bulk events are never collapsed, and later events for their tasks
+     * are appended after them so clients apply the changes in order.
+     * @param destination the STOMP destination
+     * @param event the event
+     * @param taskIds the ids of the tasks the event is about
+     */
+    public void sendBulk(String destination, TaskWebSocketEvent event, Collection<UUID> taskIds) {
+        enqueue(destination, event, null, taskIds);
+    }
+
+    private void enqueue(String destination, TaskWebSocketEvent event, UUID taskId, Collection<UUID> bulkTaskIds) {
+        eventsCounter.increment();
+        if (batchWindow.isZero() || batchWindow.isNegative()) {
+            sendFrame(destination, List.of(event));
+            return;
+        }
+
+        boolean startWindow;
+        synchronized (lock) {
+            startWindow = pendingFrames.isEmpty();
+            PendingFrame frame = pendingFrames.computeIfAbsent(destination, key -> new PendingFrame(System.nanoTime()));
+            if (frame.add(event, taskId, bulkTaskIds)) {
+                coalescedCounter.increment();
+            }
+        }
+        if (startWindow) {
+            try {
+                flushScheduler.schedule(this::flush, batchWindow.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                // shutting down, nothing will flush later
+                flush();
+            }
+        }
+    }
+
+    /**
+     * Sends one frame per destination with everything buffered since the window started.
+     */
+    void flush() {
+        Map<String, PendingFrame> frames;
+        synchronized (lock) {
+            frames = pendingFrames;
+            pendingFrames = new LinkedHashMap<>();
+        }
+
+        long now = System.nanoTime();
+        frames.forEach((destination, frame) -> {
+            batchDelayTimer.record(now - frame.firstEventNanos, TimeUnit.NANOSECONDS);
+            framesSavedCounter.increment(frame.received - 1);
+            sendFrame(destination, frame.events);
+        });
+    }
+
+    private void sendFrame(String destination, List<TaskWebSocketEvent> events) {
+        TaskWebSocketEvent frame = events.size() == 1
+                ? events.getFirst()
+                : new TaskWebSocketEvent(BATCH_EVENT, events);
+        try {
+            taskEventHistory.publish(destination, frame);
+            framesCounter.increment();
+        } catch (MessagingException e) {
+            // one failing destination must not drop the frames of the others
+            logger.log(Level.WARNING, "Cannot send task events to " + destination, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushScheduler.shutdown();
+        flush();
+    }
+
+    /**
+     * The events buffered for one destination.
+     */
+    private static final class PendingFrame {
+        private final long firstEventNanos;
+        private final List<TaskWebSocketEvent> events = new ArrayList<>();
+        // position of the latest single-task event, for tasks with no bulk event after it
+        private final Map<UUID, Integer> positions = new HashMap<>();
+        private int received;
+
+        private PendingFrame(long firstEventNanos) {
+            this.firstEventNanos = firstEventNanos;
+        }
+
+        /**
+         * @return true if the event replaced a buffered one
+         */
+        private boolean add(TaskWebSocketEvent event, UUID taskId, Collection<UUID> bulkTaskIds) {
+            received++;
+            if (taskId != null) {
+                Integer position = positions.get(taskId);
+                if (position != null) {
+                    events.set(position, merge(events.get(position), event));
+                    return true;
+                }
+                positions.put(taskId, events.size());
+            } else {
+                bulkTaskIds.forEach(positions::remove);
+            }
+            events.add(event);
+            return false;
+        }
+
+        private static TaskWebSocketEvent merge(TaskWebSocketEvent previous, TaskWebSocketEvent latest) {
+            // clients have not seen the task yet, so it is still a creation
+            if (CREATED_EVENT.equals(previous.getEventType()) && UPDATED_EVENT.equals(latest.getEventType())) {
+                return new TaskWebSocketEvent(CREATED_EVENT, latest.getData());
+            }
+            return latest;
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package com.hivetech.kanban.service;
+
+import com.hivetech.kanban.config.WebSocketProperties;
+import com.hivetech.kanban.dto.TaskWebSocketEvent;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+
+/**
+ * Sends the task event frames to their destinations and keeps the most recent ones per destination in
+ * memory, so a subscriber that lost its connection can resume where it left off. Every frame carries a
+ * resume token {@code <epoch>-<sequence>}; the epoch changes with every start of the application, so tokens
+ * of a previous run are recognised. Subscribers whose token is too old, or unknown, get a {@code RESYNC}
+ * event telling them to catch up through {@code GET /api/tasks/changes} instead.
+ * <p>
+ * The missed frames are replayed as a single frame, sent straight to the client outbound channel. That
+ * channel runs on a pool, and only the frames the broker publishes are kept in order per session, so the
+ * live frames for the resuming subscription are held back until the replayed frame has been handled, and then
+ * sent one after the other the same way. Publishing to the destination only waits while the subscription is
+ * registered and the missed frames are picked, never for a client.
+ */
+@Service
+public class TaskEventHistory {
+    public static final String RESYNC_EVENT = "RESYNC";
+    // carries the replay that sends the next held frame once this one was handled by the client outbound channel
+    public static final String REPLAY_HEADER = "kanbanReplay";
+
+    private final Logger logger = Logger.getLogger(String.valueOf(TaskEventHistory.class));
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final MessageChannel clientOutboundChannel;
+    private final int capacity;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<String, DestinationHistory> histories = new ConcurrentHashMap<>();
+    private final Map<SubscriptionKey, PendingReplay> pendingReplays = new ConcurrentHashMap<>();
+
+    // the broker beans are created by the WebSocket configuration, which itself depends on this service
+    public TaskEventHistory(@Lazy SimpMessagingTemplate messagingTemplate,
+                            @Lazy @Qualifier("clientOutboundChannel") MessageChannel clientOutboundChannel,
+                            WebSocketProperties properties) {
+        this.messagingTemplate = messagingTemplate;
+        this.clientOutboundChannel = clientOutboundChannel;
+        this.capacity = properties.getReplayCapacity();
+    }
+
+    /**
+     * Assigns the frame the next resume token of its destination, keeps it and sends it to the subscribers.
+     * @param destination the STOMP destination
+     * @param frame the frame to send
+     */
+    public void publish(String destination, TaskWebSocketEvent frame) {
+        DestinationHistory history = historyOf(destination);
+        history.lock.lock();
+        try {
+            long sequence = ++history.lastSequence;
+            TaskWebSocketEvent stamped = new TaskWebSocketEvent(frame.getEventType(), frame.getData(), token(sequence));
+            if (capacity > 0) {
+                if (history.frames.size() == capacity) {
+                    history.frames.removeFirst();
+                }
+                history.frames.addLast(new StampedFrame(sequence, stamped));
+            }
+            messagingTemplate.convertAndSend(destination, stamped);
+        } finally {
+            history.lock.unlock();
+        }
+    }
+
+    /**
+     * Blocks publishing to the destination until {@link #replay} has run, so that no frame is published
+     * between a subscription being registered and the missed frames being sent to it.
+     * Must be called on the thread that calls {@link #replay}.
+     * @param destination the STOMP destination
+     */
+    public void lockForReplay(String destination) {
+        historyOf(destination).lock.lock();
+    }
+
+    /**
+     * Sends the subscription every kept frame after the resume token, or a {@code RESYNC} event if frames
+     * after the token are no longer kept. The frames are picked under the lock taken by {@link #lockForReplay},
+     * which is released before anything is sent; live frames for the subscription are held back by
+     * {@link #holdBehindReplay} until the replayed frame has been handled. Several missed frames are sent
+     * together as one {@code BATCH} frame, so they cannot overtake each other on the client outbound channel.
+     * @param destination the subscribed destination
+     * @param sessionId the session of the subscriber
+     * @param subscriptionId the id of the subscription
+     * @param resumeToken the token of the last frame the subscriber received
+     */
+    public void replay(String destination, String sessionId, String subscriptionId, String resumeToken) {
+        DestinationHistory history = historyOf(destination);
+        TaskWebSocketEvent frame;
+        PendingReplay pending;
+        try {
+            List<TaskWebSocketEvent> missed = history.framesAfter(parseSequence(resumeToken));
+            if (missed == null) {
+                frame = new TaskWebSocketEvent(RESYNC_EVENT, null, token(history.lastSequence));
+            } else if (!missed.isEmpty()) {
+                frame = batchOf(missed);
+            } else {
+                return;
+            }
+            // registered before publishing resumes, so no live frame for the subscription gets ahead of the replay
+            SubscriptionKey key = new SubscriptionKey(sessionId, subscriptionId);
+            pending = new PendingReplay(key);
+            pendingReplays.put(key, pending);
+        } finally {
+            if (history.lock.isHeldByCurrentThread()) {
+                history.lock.unlock();
+            }
+        }
+
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        accessor.setLeaveMutable(true);
+        Message<?> message = messagingTemplate.getMessageConverter().toMessage(frame, accessor.getMessageHeaders());
+        if (message == null) {
+            pending.sendNext();
+        } else {
+            pending.send(message);
+        }
+    }
+
+    /**
+     * @return the only frame, or a {@code BATCH} frame with the events of all frames in order and the resume
+     * token of the last one
+     */
+    private static TaskWebSocketEvent batchOf(List<TaskWebSocketEvent> frames) {
+        if (frames.size() == 1) {
+            return frames.getFirst();
+        }
+        List<TaskWebSocketEvent> events = new ArrayList<>();
+        for (TaskWebSocketEvent frame : frames) {
+            if (TaskEventBroadcaster.BATCH_EVENT.equals(frame.getEventType()) && frame.getData() instanceof List<?> batched) {
+                batched.forEach(event -> events.add((TaskWebSocketEvent) event));
+            } else {
+                events.add(new TaskWebSocketEvent(frame.getEventType(), frame.getData()));
+            }
+        }
+        return new TaskWebSocketEvent(TaskEventBroadcaster.BATCH_EVENT, events, frames.getLast().getResumeToken());
+    }
+
+    /**
+     * Holds back a frame the broker sends to a subscription whose replayed frames have not been handled yet.
+     * Called by the client outbound channel before a message is queued.
+     * @param message the message about to be sent
+     * @return the message, or null if it is held and sent once the frames before it have been handled
+     */
+    public Message<?> holdBehindReplay(Message<?> message) {
+        MessageHeaders headers = message.getHeaders();
+        if (pendingReplays.isEmpty() || headers.containsKey(REPLAY_HEADER)
+                || SimpMessageHeaderAccessor.getMessageType(headers) != SimpMessageType.MESSAGE) {
+            return message;
+        }
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(headers);
+        String subscriptionId = SimpMessageHeaderAccessor.getSubscriptionId(headers);
+        if (sessionId == null || subscriptionId == null) {
+            return message;
+        }
+        PendingReplay pending = pendingReplays.get(new SubscriptionKey(sessionId, subscriptionId));
+        return pending != null && pending.hold(message) ? null : message;
+    }
+
+    /**
+     * Sends the next frame held behind the replay the message belongs to, if it is a replayed or held frame.
+     * Called by the client outbound channel once the message has been handled.
+     * @param message the handled message
+     */
+    public void replayHandled(Message<?> message) {
+        if (message.getHeaders().get(REPLAY_HEADER) instanceof PendingReplay pending) {
+            pending.sendNext();
+        }
+    }
+
+    private DestinationHistory historyOf(String destination) {
+        return histories.computeIfAbsent(destination, key -> new DestinationHistory());
+    }
+
+    private String token(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    /**
+     * @return the sequence of the token, or -1 if it is malformed or from another run of the application
+     */
+    private long parseSequence(String resumeToken) {
+        int separator = resumeToken.lastIndexOf('-');
+        if (separator < 0 || !epoch.equals(resumeToken.substring(0, separator))) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(resumeToken.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private record StampedFrame(long sequence, TaskWebSocketEvent frame) {
+    }
+
+    private record SubscriptionKey(String sessionId, String subscriptionId) {
+    }
+
+    /**
+     * The frames of one subscription that wait for its replayed frame; sent one at a time, each once the
+     * previous one has been handled, until none is left.
+     */
+    private final class PendingReplay {
+        private final SubscriptionKey key;
+        private final Deque<Message<?>> held = new ArrayDeque<>();
+        private boolean done;
+
+        private PendingReplay(SubscriptionKey key) {
+            this.key = key;
+        }
+
+        private synchronized boolean hold(Message<?> message) {
+            if (done) {
+                return false;
+            }
+            held.addLast(message);
+            return true;
+        }
+
+        private void sendNext() {
+            Message<?> next;
+            synchronized (this) {
+                next = held.pollFirst();
+                if (next == null) {
+                    done = true;
+                    pendingReplays.remove(key, this);
+                    return;
+                }
+            }
+            send(next);
+        }
+
+        /**
+         * Sends the message tagged with this replay; if the channel does not take it, the replay ends and the
+         * held frames are dropped, like live frames the channel does not take.
+         */
+        private void send(Message<?> message) {
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+            accessor.setHeader(REPLAY_HEADER, this);
+            accessor.setLeaveMutable(true);
+            boolean sent;
+            try {
+                sent = clientOutboundChannel.send(MessageBuilder.createMessage(message.getPayload(), accessor.getMessageHeaders()));
+            } catch (RuntimeException e) {
+                sent = false;
+            }
+            if (!sent) {
+                logger.warning("Replayed frame for session " + key.sessionId() + " was not sent, dropping the frames held behind it");
+                synchronized (this) {
+                    done = true;
+                    held.clear();
+                    pendingReplays.remove(key, this);
+                }
+            }
+        }
+    }
+
+    /**
+     * The frames kept for one destination; guarded by its lock.
+     */
+    private static final class DestinationHistory {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Deque<StampedFrame> frames = new ArrayDeque<>();
+        private long lastSequence;
+
+        /**
+         * @return the frames after the sequence, or null if some of them are no longer kept
+         */
+        private List<TaskWebSocketEvent> framesAfter(long sequence) {
+            if (sequence < 0 || sequence > lastSequence) {
+                return null;
+            }
+            long firstKept = frames.isEmpty() ? lastSequence + 1 : frames.getFirst().sequence();
+            if (sequence + 1 < firstKept) {
+                return null;
+            }
+            return frames.stream()
+                    .filter(stamped -> stamped.sequence() > sequence)
+                    .map(StampedFrame::frame)
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.hivetech.kanban.service;
+
+import com.hivetech.kanban.cluster.ClusterEventBus;
+import com.hivetech.kanban.config.TaskEventConfig;
+import com.hivetech.kanban.dto.TaskResponseDTO;
+import com.hivetech.kanban.dto.TaskWebSocketEvent;
+import com.hivetech.kanban.event.TaskChangedEvent;
+import com.hivetech.kanban.model.Status;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Broadcasts task changes over STOMP. Every event goes to {@code /topic/tasks} for clients watching the whole
+ * board, and to {@code /topic/tasks/<STATUS>} for every status column the change touches, so clients watching
+ * a single column only receive that column's traffic. A task moved between columns is sent to both; clients
+ * of the old column recognise the move by the task's new status. Events are delivered through the
+ * {@link TaskEventBroadcaster}, which batches them per destination.
+ * <p>
+ * Listens for the {@link TaskChangedEvent}s raised by {@link TaskService} and sends them over the
+ * {@link ClusterEventBus}, so the clients connected to every instance receive them.
+ */
+@Service
+public class TaskEventPublisher {
+    public static final String TASKS_TOPIC = "/topic/tasks";
+    public static final String CLUSTER_TOPIC = "task-events";
+
+    private final TaskEventBroadcaster broadcaster;
+    private final ClusterEventBus clusterEventBus;
+
+    public TaskEventPublisher(TaskEventBroadcaster broadcaster, ClusterEventBus clusterEventBus) {
+        this.broadcaster = broadcaster;
+        this.clusterEventBus = clusterEventBus;
+        clusterEventBus.subscribe(CLUSTER_TOPIC, TaskChangedEvent.class, this::broadcast);
+    }
+
+    /**
+     * @param status the status column
+     * @return the destination of the events touching the column
+     */
+    public static String topicFor(Status status) {
+        return TASKS_TOPIC + "/" + status.name();
+    }
+
+    /**
+     * Sends the change to every instance once the writing transaction has committed, or right away when there was none.
+     * Runs on the {@link TaskEventConfig#TASK_EVENT_EXECUTOR}, never on the request thread.
+     * @param event the task change
+     */
+    @Async(TaskEventConfig.TASK_EVENT_EXECUTOR)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        clusterEventBus.publish(CLUSTER_TOPIC, event);
+    }
+
+    /**
+     * Broadcasts a change made on this or another instance to the clients connected to this instance.
+     * @param event the task change
+     */
+    public void broadcast(TaskChangedEvent event) {
+        Map<UUID, Status> previousStatuses = event.getPreviousStatuses();
+        switch (event.getChangeType()) {
+            case CREATED -> {
+                if (event.isBulk()) {
+                    tasksCreated(event.getTasks());
+                } else {
+                    taskCreated(event.getTasks().getFirst());
+                }
+            }
+            case UPDATED -> {
+                if (event.isBulk()) {
+                    tasksUpdated(previousStatuses, event.getTasks());
+                } else {
+                    TaskResponseDTO task = event.getTasks().getFirst();
+                    taskUpdated(previousStatuses.get(task.getId()), task);
+                }
+            }
+            case DELETED -> {
+                if (event.isBulk()) {
+                    tasksDeleted(previousStatuses);
+                } else {
+                    Map.Entry<UUID, Status> deleted = previousStatuses.entrySet().iterator().next();
+                    taskDeleted(deleted.getKey(), deleted.getValue());
+                }
+            }
+        }
+    }
+
+    public void taskCreated(TaskResponseDTO task) {
+        publishTask("CREATED", task.getId(), task, EnumSet.of(statusOf(task)));
+    }
+
+    public void taskUpdated(Status oldStatus, TaskResponseDTO task) {
+        publishTask("UPDATED", task.getId(), task, EnumSet.of(oldStatus, statusOf(task)));
+    }
+
+    public void taskDeleted(UUID id, Status oldStatus) {
+        publishTask("DELETED", id, id, EnumSet.of(oldStatus));
+    }
+
+    public void tasksCreated(List<TaskResponseDTO> tasks) {
+        Map<Status, List<TaskResponseDTO>> columns = new EnumMap<>(Status.class);
+        tasks.forEach(task -> columns.computeIfAbsent(statusOf(task), status -> new ArrayList<>()).add(task));
+        publishBulk("BULK_CREATED", idsOf(tasks), tasks, columns);
+    }
+
+    /**
+     * @param oldStatuses the status of every updated task before the update
+     * @param tasks the updated tasks
+     */
+    public void tasksUpdated(Map<UUID, Status> oldStatuses, List<TaskResponseDTO> tasks) {
+        Map<Status, List<TaskResponseDTO>> columns = new EnumMap<>(Status.class);
+        for (TaskResponseDTO task : tasks) {
+            Status newStatus = statusOf(task);
+            columns.computeIfAbsent(newStatus, status -> new ArrayList<>()).add(task);
+            Status oldStatus = oldStatuses.get(task.getId());
+            if (oldStatus != null && oldStatus != newStatus) {
+                columns.computeIfAbsent(oldStatus, status -> new ArrayList<>()).add(task);
+            }
+        }
+        publishBulk("BULK_UPDATED", idsOf(tasks), tasks, columns);
+    }
+
+    /**
+     * @param oldStatuses the status of every deleted task, keyed by its id
+     */
+    public void tasksDeleted(Map<UUID, Status> oldStatuses) {
+        Map<Status, List<UUID>> columns = new EnumMap<>(Status.class);
+        oldStatuses.forEach((id, status) -> columns.computeIfAbsent(status, s -> new ArrayList<>()).add(id));
+        List<UUID> ids = List.copyOf(oldStatuses.keySet());
+        publishBulk("BULK_DELETED", ids, ids, columns);
+    }
+
+    private void publishTask(String eventType, UUID id, Object payload, Set<Status> columns) {
+        TaskWebSocketEvent event = new TaskWebSocketEvent(eventType, payload);
+        broadcaster.send(TASKS_TOPIC, event, id);
+        columns.forEach(status -> broadcaster.send(topicFor(status), event, id));
+    }
+
+    /**
+     * Sends the event to the board topic and each column its own payload.
+     */
+    private void publishBulk(String eventType, List<UUID> ids, Object boardPayload, Map<Status, ?> columnPayloads) {
+        broadcaster.sendBulk(TASKS_TOPIC, new TaskWebSocketEvent(eventType, boardPayload), ids);
+        columnPayloads.forEach((status, payload) ->
+                broadcaster.sendBulk(topicFor(status), new TaskWebSocketEvent(eventType, payload), ids));
+    }
+
+    private static List<UUID> idsOf(List<TaskResponseDTO> tasks) {
+        return tasks.stream().map(TaskResponseDTO::getId).toList();
+    }
+
+    private static Status statusOf(TaskResponseDTO task) {
+        return Status.valueOf(task.getStatus());
+    }
+}
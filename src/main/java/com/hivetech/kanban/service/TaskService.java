@@ -1,40 +1,153 @@
 package com.hivetech.kanban.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.github.fge.jsonpatch.JsonPatch;
 import com.github.fge.jsonpatch.JsonPatchException;
+import com.hivetech.kanban.dto.CursorPageDTO;
+import com.hivetech.kanban.dto.SliceDTO;
+import com.hivetech.kanban.dto.TaskBulkUpdateDTO;
 import com.hivetech.kanban.dto.TaskRequestDTO;
 import com.hivetech.kanban.dto.TaskResponseDTO;
+import com.hivetech.kanban.event.TaskChangedEvent;
 import com.hivetech.kanban.model.Priority;
 import com.hivetech.kanban.model.Status;
 import com.hivetech.kanban.model.Task;
 import com.hivetech.kanban.repository.TaskRepository;
+import com.hivetech.kanban.util.CursorUtil;
 import com.hivetech.kanban.util.TaskDTOMapperUtil;
+import com.hivetech.kanban.util.TaskPatchUtil;
+import com.hivetech.kanban.exception.InvalidCursorException;
+import com.hivetech.kanban.exception.PreconditionFailedException;
 import com.hivetech.kanban.exception.ResourceNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class TaskService {
     private final TaskRepository taskRepository;
     private final TaskDTOMapperUtil taskDTOMapperUtil;
+    private final TaskCacheInvalidator taskCacheInvalidator;
+    private final TaskPatchUtil taskPatchUtil;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter taskWriter;
 
-    public TaskService(TaskRepository taskRepository, TaskDTOMapperUtil taskDTOMapperUtil) {
+    private static final int EXPORT_FLUSH_INTERVAL = 500;
+
+    public TaskService(TaskRepository taskRepository, TaskDTOMapperUtil taskDTOMapperUtil, TaskCacheInvalidator taskCacheInvalidator, TaskPatchUtil taskPatchUtil, ApplicationEventPublisher eventPublisher, ObjectMapper objectMapper) {
         this.taskRepository = taskRepository;
         this.taskDTOMapperUtil = taskDTOMapperUtil;
+        this.taskCacheInvalidator = taskCacheInvalidator;
+        this.taskPatchUtil = taskPatchUtil;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.taskWriter = objectMapper.writerFor(TaskResponseDTO.class);
     }
 
+    @Transactional(readOnly = true)
     public Page<TaskResponseDTO> getAllTasks(Status status, Pageable pageable){
-        Page<Task> page = (status != null)
-                ? taskRepository.findByStatus(status, pageable)
-                : taskRepository.findAll(pageable);
+        return (status != null)
+                ? taskRepository.findTaskDTOsByStatus(status, pageable)
+                : taskRepository.findAllTaskDTOs(pageable);
+    }
+
+    /**
+     * Variant of {@link #getAllTasks(Status, Pageable)} that skips the COUNT query. One extra row is
+     * fetched to tell whether a next page exists.
+     * @param status optional status filter
+     * @param pageable page request
+     * @return the page content without totals
+     */
+    @Transactional(readOnly = true)
+    public SliceDTO<TaskResponseDTO> getTaskSlice(Status status, Pageable pageable){
+        Slice<TaskResponseDTO> slice = (status != null)
+                ? taskRepository.findTaskDTOSliceByStatus(status, pageable)
+                : taskRepository.findTaskDTOSlice(pageable);
+
+        return new SliceDTO<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext());
+    }
+
+    /**
+     * Keyset (seek) variant of {@link #getAllTasks(Status, Pageable)}: tasks are ordered by id and the next
+     * page starts right after the task encoded in the cursor, so no OFFSET scan and no COUNT query are needed.
+     * @param status optional status filter
+     * @param after cursor returned with the previous page, {@code null} for the first page
+     * @param size maximum number of tasks to return
+     * @return the page content together with the cursor of the next page
+     * @throws InvalidCursorException if the cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<TaskResponseDTO> getTasksAfter(Status status, String after, int size) throws InvalidCursorException {
+        ScrollPosition position = (after == null || after.isBlank())
+                ? ScrollPosition.keyset()
+                : ScrollPosition.forward(Map.of("id", CursorUtil.decode(after)));
+        Limit limit = Limit.of(size);
+
+        Window<Task> window = (status != null)
+                ? taskRepository.findByStatusOrderByIdAsc(status, position, limit)
+                : taskRepository.findAllByOrderByIdAsc(position, limit);
+
+        List<TaskResponseDTO> content = window.stream().map(taskDTOMapperUtil::toDTO).toList();
+        String nextCursor = (window.hasNext() && !content.isEmpty())
+                ? CursorUtil.encode(content.getLast().getId())
+                : null;
+
+        return new CursorPageDTO<>(content, nextCursor, window.hasNext(), size);
+    }
+
+    /**
+     * Writes every task (optionally filtered by status) as newline-delimited JSON. Rows are read through a
+     * server-side cursor and written one by one, so memory use does not grow with the size of the board.
+     * @param status optional status filter
+     * @param out stream to write to; flushed but not closed
+     * @throws IOException if writing to the stream fails
+     */
+    @Transactional(readOnly = true)
+    public void exportTasks(Status status, OutputStream out) throws IOException {
+        try (Stream<TaskResponseDTO> tasks = (status != null)
+                     ? taskRepository.streamTaskDTOsByStatus(status)
+                     : taskRepository.streamAllTaskDTOs();
+             JsonGenerator generator = taskWriter.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // lines are terminated explicitly below instead of separated by the default root separator (space)
+            generator.setRootValueSeparator(null);
 
-        return page.map(taskDTOMapperUtil::toDTO);
+            int written = 0;
+            Iterator<TaskResponseDTO> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                taskWriter.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+                if (++written % EXPORT_FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+        }
     }
 
     public TaskResponseDTO getTask(UUID id) throws ResourceNotFoundException{
@@ -48,55 +161,272 @@ public class TaskService {
 
     public TaskResponseDTO createTask(TaskRequestDTO task){
         Task newTask = new Task();
-        newTask.setTitle(task.getTitle());
-        newTask.setDescription(task.getDescription());
-        newTask.setStatus(Status.valueOf(task.getStatus().toUpperCase()));
-        newTask.setPriority(Priority.valueOf(task.getPriority().toUpperCase()));
+        applyRequestToTask(task, newTask);
 
         this.taskRepository.save(newTask);
+        taskCacheInvalidator.evict(newTask.getId(), null, newTask.getStatus());
+
+        TaskResponseDTO created = taskDTOMapperUtil.toDTO(newTask);
+        eventPublisher.publishEvent(TaskChangedEvent.created(created));
+        return created;
+    }
+
+    /**
+     * Fully updates a task with one conditional {@code UPDATE ... RETURNING} instead of loading the task and
+     * saving it again. Only a failed update costs a second query, to tell a missing task from a stale version.
+     * @param id the id of the task
+     * @param taskRequestDTO the new state of the task
+     * @param expectedVersion the version the client last read, or null to update unconditionally
+     * @return the updated task
+     * @throws ResourceNotFoundException if the task does not exist
+     * @throws PreconditionFailedException if the task no longer has the expected version
+     */
+    @Transactional
+    public TaskResponseDTO updateTask(UUID id, TaskRequestDTO taskRequestDTO, Integer expectedVersion) throws ResourceNotFoundException, PreconditionFailedException{
+        Optional<TaskRepository.UpdatedTask> optionalUpdated = this.taskRepository.updateTask(id,
+                taskRequestDTO.getTitle(), taskRequestDTO.getDescription(),
+                Status.valueOf(taskRequestDTO.getStatus().toUpperCase()).name(),
+                Priority.valueOf(taskRequestDTO.getPriority().toUpperCase()).name(),
+                expectedVersion);
+
+        return published(optionalUpdated.orElseThrow(() -> writeFailed(id, expectedVersion)));
+    }
+
+    /**
+     * Moves a task to another status column with one conditional {@code UPDATE ... RETURNING} instead of
+     * loading the task and saving it again. Only a failed move costs a second query, to tell a missing task
+     * from a stale version.
+     * @param id the id of the task
+     * @param status the new status
+     * @param expectedVersion the version the client last read, or null to move unconditionally
+     * @return the moved task
+     * @throws ResourceNotFoundException if the task does not exist
+     * @throws PreconditionFailedException if the task no longer has the expected version
+     */
+    @Transactional
+    public TaskResponseDTO moveTask(UUID id, Status status, Integer expectedVersion) throws ResourceNotFoundException, PreconditionFailedException {
+        Optional<TaskRepository.UpdatedTask> optionalMoved = this.taskRepository.moveTask(id, status.name(), expectedVersion);
+
+        return published(optionalMoved.orElseThrow(() -> writeFailed(id, expectedVersion)));
+    }
+
+    /**
+     * Evicts the caches of a task written by a single statement and publishes the change.
+     */
+    private TaskResponseDTO published(TaskRepository.UpdatedTask updated) {
+        taskCacheInvalidator.evict(updated.getId(), updated.getPreviousStatus(), updated.getStatus());
+
+        TaskResponseDTO updatedDTO = new TaskResponseDTO(updated.getId(), updated.getTitle(), updated.getDescription(),
+                updated.getStatus(), updated.getPriority(), updated.getVersion());
+        eventPublisher.publishEvent(TaskChangedEvent.updated(updated.getPreviousStatus(), updatedDTO));
+        return updatedDTO;
+    }
 
-        return taskDTOMapperUtil.toDTO(newTask);
+    /**
+     * @return why a conditional write of the task matched no row
+     */
+    private RuntimeException writeFailed(UUID id, Integer expectedVersion) {
+        if (expectedVersion != null && this.taskRepository.existsById(id)) {
+            return new PreconditionFailedException("Task was modified since version " + expectedVersion + ".");
+        }
+        return new ResourceNotFoundException("Task with given ID does not exist.");
     }
 
-    public TaskResponseDTO updateTask(UUID id, TaskRequestDTO taskRequestDTO) throws ResourceNotFoundException{
+    /**
+     * Applies a JSON Patch to a task. Patches that only add, replace, remove or test the editable fields are
+     * applied directly to the managed entity; anything else goes through the generic JSON Patch implementation.
+     * @param id the id of the task
+     * @param patch the JSON Patch document
+     * @param expectedVersion the version the client last read, or null to patch unconditionally
+     * @return the patched task
+     * @throws JsonPatchException if the patch is invalid or cannot be applied
+     * @throws JsonProcessingException if the patched document is not a valid task
+     * @throws ResourceNotFoundException if the task does not exist
+     * @throws PreconditionFailedException if the task no longer has the expected version
+     */
+    @Transactional
+    public TaskResponseDTO patchTask(UUID id, JsonNode patch, Integer expectedVersion) throws JsonPatchException, JsonProcessingException, ResourceNotFoundException, PreconditionFailedException {
         Optional<Task> optionalTask = this.taskRepository.findById(id);
 
         if(optionalTask.isPresent()){
             Task task = optionalTask.get();
+            checkVersion(task, expectedVersion);
+            Status oldStatus = task.getStatus();
 
-            task.setTitle(taskRequestDTO.getTitle());
-            task.setDescription(taskRequestDTO.getDescription());
-            task.setStatus(Status.valueOf(taskRequestDTO.getStatus().toUpperCase()));
-            task.setPriority(Priority.valueOf(taskRequestDTO.getPriority().toUpperCase()));
+            Task taskPatched = taskPatchUtil.tryApply(patch, task)
+                    ? task
+                    : applyPatchToTask(patch, task);
 
-            this.taskRepository.save(task);
+            // flush so the returned version includes this update
+            taskPatched = this.taskRepository.saveAndFlush(taskPatched);
+            taskCacheInvalidator.evict(id, oldStatus, taskPatched.getStatus());
 
-            return taskDTOMapperUtil.toDTO(task);
+            TaskResponseDTO patched = taskDTOMapperUtil.toDTO(taskPatched);
+            eventPublisher.publishEvent(TaskChangedEvent.updated(oldStatus, patched));
+            return patched;
         } else
             throw new ResourceNotFoundException("Task with given ID does not exist.");
     }
 
-    public TaskResponseDTO patchTask(UUID id, JsonPatch patch) throws JsonPatchException, JsonProcessingException, ResourceNotFoundException {
-        Optional<Task> optionalTask = this.taskRepository.findById(id);
+    /**
+     * Deletes a task with one conditional {@code DELETE ... RETURNING}; deleting a task that does not exist
+     * does nothing unless a version is expected. Only a failed conditional delete costs a second query, to
+     * tell a missing task from a stale version.
+     * @param id the id of the task
+     * @param expectedVersion the version the client last read, or null to delete unconditionally
+     * @throws PreconditionFailedException if the task no longer exists or has another version than expected
+     */
+    @Transactional
+    public void deleteTask(UUID id, Integer expectedVersion) throws PreconditionFailedException{
+        Optional<Status> deletedStatus = this.taskRepository.deleteTask(id, expectedVersion);
+        if (deletedStatus.isEmpty()) {
+            if (expectedVersion != null) {
+                throw this.taskRepository.existsById(id)
+                        ? new PreconditionFailedException("Task was modified since version " + expectedVersion + ".")
+                        : new PreconditionFailedException("Task with given ID does not exist.");
+            }
+            return;
+        }
 
-        if(optionalTask.isPresent()){
-            Task taskPatched = applyPatchToTask(patch, optionalTask.get());
+        // the status returned by the delete evicts only the pages of the deleted task's column
+        taskCacheInvalidator.evict(id, deletedStatus.get(), null);
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(id, deletedStatus.get()));
+    }
 
-            this.taskRepository.save(taskPatched);
+    /**
+     * Creates all given tasks in one transaction. Inserts are sent in JDBC batches
+     * (see {@code hibernate.jdbc.batch_size}) and the caches are invalidated once, after commit.
+     * Nothing is evicted or published for an empty list.
+     * @param tasks the tasks to create
+     * @return the created tasks, in request order
+     */
+    @Transactional
+    public List<TaskResponseDTO> createTasks(List<TaskRequestDTO> tasks){
+        if (tasks.isEmpty()) {
+            return List.of();
+        }
+        List<Task> newTasks = tasks.stream()
+                .map(request -> {
+                    Task newTask = new Task();
+                    applyRequestToTask(request, newTask);
+                    return newTask;
+                })
+                .toList();
 
-            return taskDTOMapperUtil.toDTO(taskPatched);
-        } else
-            throw new ResourceNotFoundException("Task with given ID does not exist.");
+        this.taskRepository.saveAll(newTasks);
+        taskCacheInvalidator.evict(newTasks.stream().map(Task::getId).toList(), statusesOf(newTasks));
+
+        List<TaskResponseDTO> created = newTasks.stream().map(taskDTOMapperUtil::toDTO).toList();
+        eventPublisher.publishEvent(TaskChangedEvent.bulkCreated(created));
+        return created;
+    }
+
+    /**
+     * Fully updates all given tasks in one transaction: one query loads them and the updates are
+     * flushed in JDBC batches on commit. Fails without changes if any task does not exist or no longer has
+     * the version the client read; a write committed after the tasks were loaded fails the versioned flush.
+     * Nothing is evicted or published for an empty list.
+     * @param tasks the new state of the tasks, identified by id, with the version the client last read
+     * @return the updated tasks, in request order
+     * @throws ResourceNotFoundException if any of the tasks does not exist
+     * @throws ObjectOptimisticLockingFailureException if any of the tasks has another version than given
+     */
+    @Transactional
+    public List<TaskResponseDTO> updateTasks(List<TaskBulkUpdateDTO> tasks) throws ResourceNotFoundException, ObjectOptimisticLockingFailureException{
+        if (tasks.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, Task> existing = this.taskRepository.findAllById(tasks.stream().map(TaskBulkUpdateDTO::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        Set<Status> statuses = EnumSet.noneOf(Status.class);
+        Map<UUID, Status> oldStatuses = new HashMap<>();
+        List<Task> updated = tasks.stream()
+                .map(request -> {
+                    Task task = existing.get(request.getId());
+                    if (task == null) {
+                        throw new ResourceNotFoundException("Task with ID " + request.getId() + " does not exist.");
+                    }
+                    if (task.getVersion() != request.getVersion()) {
+                        throw new ObjectOptimisticLockingFailureException(Task.class, task.getId());
+                    }
+                    statuses.add(task.getStatus());
+                    oldStatuses.putIfAbsent(task.getId(), task.getStatus());
+                    applyRequestToTask(request, task);
+                    statuses.add(task.getStatus());
+                    return task;
+                })
+                .toList();
+
+        // flush now so the returned versions reflect the batched updates
+        this.taskRepository.flush();
+        taskCacheInvalidator.evict(existing.keySet(), statuses);
+
+        List<TaskResponseDTO> updatedDTOs = updated.stream().map(taskDTOMapperUtil::toDTO).toList();
+        eventPublisher.publishEvent(TaskChangedEvent.bulkUpdated(oldStatuses, updatedDTOs));
+        return updatedDTOs;
+    }
+
+    /**
+     * Deletes all given tasks with a single DELETE statement. Ids of tasks that do not exist are ignored;
+     * when none of the tasks exists, nothing is evicted or published.
+     * @param ids the ids of the tasks to delete
+     * @return the ids of the tasks that were deleted
+     */
+    @Transactional
+    public List<UUID> deleteTasks(List<UUID> ids){
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Task> tasks = this.taskRepository.findAllById(ids);
+        if (tasks.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> deletedIds = tasks.stream().map(Task::getId).toList();
+
+        this.taskRepository.deleteAllByIdInBatch(deletedIds);
+        taskCacheInvalidator.evict(deletedIds, statusesOf(tasks));
+
+        Map<UUID, Status> oldStatuses = new LinkedHashMap<>();
+        tasks.forEach(task -> oldStatuses.put(task.getId(), task.getStatus()));
+        eventPublisher.publishEvent(TaskChangedEvent.bulkDeleted(oldStatuses));
+        return deletedIds;
+    }
+
+    /**
+     * Rejects the write before anything is changed if the client last read another version of the task.
+     */
+    private static void checkVersion(Task task, Integer expectedVersion) throws PreconditionFailedException {
+        if (expectedVersion != null && task.getVersion() != expectedVersion) {
+            throw new PreconditionFailedException("Task was modified, its current version is " + task.getVersion() + ".");
+        }
+    }
+
+    private void applyRequestToTask(TaskRequestDTO request, Task task) {
+        task.setTitle(request.getTitle());
+        task.setDescription(request.getDescription());
+        task.setStatus(Status.valueOf(request.getStatus().toUpperCase()));
+        task.setPriority(Priority.valueOf(request.getPriority().toUpperCase()));
     }
 
-    public void deleteTask(UUID id){
-        this.taskRepository.deleteById(id);
+    private static Set<Status> statusesOf(List<Task> tasks) {
+        Set<Status> statuses = EnumSet.noneOf(Status.class);
+        tasks.forEach(task -> statuses.add(task.getStatus()));
+        return statuses;
     }
 
     private Task applyPatchToTask(
-            JsonPatch patch, Task targetTask) throws JsonPatchException, JsonProcessingException {
-        ObjectMapper objectMapper = new ObjectMapper();
-        JsonNode patched = patch.apply(objectMapper.convertValue(targetTask, JsonNode.class));
-        return objectMapper.treeToValue(patched, Task.class);
+            JsonNode patch, Task targetTask) throws JsonPatchException, JsonProcessingException {
+        JsonPatch jsonPatch;
+        try {
+            jsonPatch = JsonPatch.fromJson(patch);
+        } catch (IOException e) {
+            throw new JsonPatchException("Invalid JSON Patch: " + e.getMessage(), e);
+        }
+        JsonNode patched = jsonPatch.apply(objectMapper.convertValue(targetTask, JsonNode.class));
+        Task patchedTask = objectMapper.treeToValue(patched, Task.class);
+        taskPatchUtil.validate(patchedTask);
+        return patchedTask;
     }
 }
@@ -1,7 +1,12 @@
 package com.hivetech.kanban.service;
 
+import com.hivetech.kanban.cluster.ClusterEventBus;
+import com.hivetech.kanban.config.CacheConfig;
+import com.hivetech.kanban.event.UserChangedEvent;
 import com.hivetech.kanban.model.User;
 import com.hivetech.kanban.repository.UserRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -12,13 +17,41 @@ import java.util.Collections;
 @Service
 public class UserDetailService implements UserDetailsService {
     private final UserRepository userRepository;
+    private final Cache userDetailsCache;
 
-    public UserDetailService(UserRepository userRepository){
+    public UserDetailService(UserRepository userRepository, CacheManager cacheManager, ClusterEventBus clusterEventBus){
         this.userRepository = userRepository;
+        this.userDetailsCache = cacheManager.getCache(CacheConfig.USER_DETAILS_CACHE);
+        clusterEventBus.subscribe(UserEventPublisher.CLUSTER_TOPIC, UserChangedEvent.class, this::onUserChanged);
     }
 
+    /**
+     * Loads the user by email, served from the user details cache after the first lookup.
+     * Every call returns a new copy, because Spring Security erases the password of the returned
+     * instance after authentication and the cached one must keep it.
+     * @param username the email of the user
+     * @return UserDetails of the user
+     * @throws UsernameNotFoundException if no user with the email exists
+     */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        UserDetails cached = userDetailsCache.get(username, UserDetails.class);
+        if (cached == null) {
+            cached = findUser(username);
+            userDetailsCache.put(username, cached);
+        }
+        return org.springframework.security.core.userdetails.User.withUserDetails(cached).build();
+    }
+
+    /**
+     * Evicts the cached details of a user changed on this or another instance, as relayed by {@link UserEventPublisher}.
+     * @param event the event describing the changed user
+     */
+    public void onUserChanged(UserChangedEvent event) {
+        userDetailsCache.evict(event.getEmail());
+    }
+
+    private UserDetails findUser(String username) {
         User user = userRepository.findByEmail(username);
 
         if (user == null) {
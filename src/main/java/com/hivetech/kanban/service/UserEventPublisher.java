@@ -0,0 +1,32 @@
+package com.hivetech.kanban.service;
+
+import com.hivetech.kanban.cluster.ClusterEventBus;
+import com.hivetech.kanban.event.UserChangedEvent;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Listens for the {@link UserChangedEvent}s raised by {@link UserService} and sends them over the
+ * {@link ClusterEventBus}, so the user data cached by every instance, such as token versions and user details,
+ * follows the change. Subscribers register for {@link #CLUSTER_TOPIC}.
+ */
+@Service
+public class UserEventPublisher {
+    public static final String CLUSTER_TOPIC = "user-events";
+
+    private final ClusterEventBus clusterEventBus;
+
+    public UserEventPublisher(ClusterEventBus clusterEventBus) {
+        this.clusterEventBus = clusterEventBus;
+    }
+
+    /**
+     * Sends the change to every instance once the writing transaction has committed, or right away when there was
+     * none, so a concurrent request cannot re-cache the state that is being replaced.
+     * @param event the user change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        clusterEventBus.publish(CLUSTER_TOPIC, event);
+    }
+}
@@ -3,52 +3,78 @@ package com.hivetech.kanban.service;
 import com.hivetech.kanban.dto.AuthResponseDTO;
 import com.hivetech.kanban.dto.LoginRequestDTO;
 import com.hivetech.kanban.dto.RegisterRequestDTO;
+import com.hivetech.kanban.event.UserChangedEvent;
 import com.hivetech.kanban.model.User;
 import com.hivetech.kanban.repository.UserRepository;
 import com.hivetech.kanban.util.JwtUtil;
 import com.hivetech.kanban.util.UserDTOMapperUtil;
 import jakarta.persistence.EntityExistsException;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class UserService {
-    private final AuthenticationManager authenticationManager;
+    // unique index on "user"(email), see V2__add_task_and_user_indexes.sql
+    private static final String UNIQUE_EMAIL_CONSTRAINT = "uq_user_email";
+    private static final String BAD_CREDENTIALS = "Bad credentials";
+
     private final UserRepository userRepository;
     private final PasswordEncoder encoder;
     private final JwtUtil jwtUtils;
     private final UserDTOMapperUtil userDTOMapperUtil;
+    private final ApplicationEventPublisher eventPublisher;
+    private volatile String userNotFoundPassword;
 
-    public UserService(AuthenticationManager authenticationManager, UserRepository userRepository, PasswordEncoder encoder, JwtUtil jwtUtils, UserDTOMapperUtil userDTOMapperUtil) {
-        this.authenticationManager = authenticationManager;
+    public UserService(UserRepository userRepository, PasswordEncoder encoder, JwtUtil jwtUtils, UserDTOMapperUtil userDTOMapperUtil, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.encoder = encoder;
         this.jwtUtils = jwtUtils;
         this.userDTOMapperUtil = userDTOMapperUtil;
+        this.eventPublisher = eventPublisher;
     }
 
-    public AuthResponseDTO authenticateUser(LoginRequestDTO credentials) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        credentials.getEmail(),
-                        credentials.getPassword()
-                )
-        );
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        String token = jwtUtils.generateToken(userDetails.getUsername());
+    /**
+     * Verifies the credentials against the user loaded by a single query and issues a token for that user.
+     * Passwords hashed with a lower strength than the current one are rehashed on success.
+     * @param credentials the email and password of the user
+     * @return AuthResponseDTO with the user and a new token
+     * @throws BadCredentialsException if the email is unknown or the password does not match
+     */
+    public AuthResponseDTO authenticateUser(LoginRequestDTO credentials) throws BadCredentialsException {
         User user = this.userRepository.findByEmail(credentials.getEmail());
-        return new AuthResponseDTO(userDTOMapperUtil.toDTO(user), token);
-    }
+        if (user == null) {
+            // hash anyway, so the response time does not reveal which emails are registered
+            if (credentials.getPassword() != null) {
+                encoder.matches(credentials.getPassword(), userNotFoundPassword());
+            }
+            throw new BadCredentialsException(BAD_CREDENTIALS);
+        }
+        if (credentials.getPassword() == null || !encoder.matches(credentials.getPassword(), user.getPassword())) {
+            throw new BadCredentialsException(BAD_CREDENTIALS);
+        }
 
-    public AuthResponseDTO registerUser(RegisterRequestDTO user) throws EntityExistsException{
-        if (userRepository.existsByEmail(user.getEmail())) {
-            throw new EntityExistsException("User already exists.");
+        if (encoder.upgradeEncoding(user.getPassword())) {
+            user.setPassword(encoder.encode(credentials.getPassword()));
+            userRepository.save(user);
+            eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail()));
         }
+        return toAuthResponse(user);
+    }
 
+    /**
+     * Saves the new user and issues a token for it directly, without authenticating the just hashed password again.
+     * Duplicate emails are rejected by the unique email index, so no existence check is needed beforehand.
+     * @param user the registration data
+     * @return AuthResponseDTO with the new user and a token
+     * @throws EntityExistsException if a user with the email already exists
+     */
+    public AuthResponseDTO registerUser(RegisterRequestDTO user) throws EntityExistsException{
         User newUser = new User(
                 user.getFirstName(),
                 user.getLastName(),
@@ -56,8 +82,45 @@ public class UserService {
                 encoder.encode(user.getPassword())
         );
 
-        userRepository.save(newUser);
+        try {
+            userRepository.saveAndFlush(newUser);
+        } catch (DataIntegrityViolationException e) {
+            if (e.getCause() instanceof ConstraintViolationException violation
+                    && UNIQUE_EMAIL_CONSTRAINT.equals(violation.getConstraintName())) {
+                throw new EntityExistsException("User already exists.");
+            }
+            throw e;
+        }
+        eventPublisher.publishEvent(new UserChangedEvent(newUser.getId(), newUser.getEmail()));
 
-        return this.authenticateUser(new LoginRequestDTO(newUser.getEmail(), user.getPassword()));
+        return toAuthResponse(newUser);
+    }
+
+    /**
+     * Revokes every token issued to the user so far by incrementing the user's token version.
+     * @param email the email of the user
+     * @throws UsernameNotFoundException if no user with the email exists
+     */
+    @Transactional
+    public void revokeTokens(String email) throws UsernameNotFoundException {
+        User user = userRepository.findByEmail(email);
+        if (user == null) {
+            throw new UsernameNotFoundException("User Not Found with username: " + email);
+        }
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail()));
+    }
+
+    private AuthResponseDTO toAuthResponse(User user) {
+        String token = jwtUtils.generateToken(user.getEmail(), user.getId(), user.getTokenVersion());
+        return new AuthResponseDTO(userDTOMapperUtil.toDTO(user), token);
+    }
+
+    private String userNotFoundPassword() {
+        if (userNotFoundPassword == null) {
+            userNotFoundPassword = encoder.encode("userNotFoundPassword");
+        }
+        return userNotFoundPassword;
     }
 }
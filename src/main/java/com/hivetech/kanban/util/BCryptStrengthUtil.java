@@ -0,0 +1,55 @@
+package com.hivetech.kanban.util;
+
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.time.Duration;
+
+/**
+ * Picks the BCrypt work factor (log2 rounds) whose hash time on this machine is closest to,
+ * without exceeding, a target duration. Each extra round doubles the hashing time, so a single
+ * measurement at a reference strength is enough to extrapolate the others.
+ */
+public final class BCryptStrengthUtil {
+    // Spring Security's default; calibration never weakens hashes below it
+    public static final int MIN_STRENGTH = 10;
+    public static final int MAX_STRENGTH = 16;
+    private static final int MEASUREMENTS = 3;
+    private static final String SAMPLE_PASSWORD = "calibration-password";
+
+    private BCryptStrengthUtil() {
+    }
+
+    /**
+     * Measures a hash at {@link #MIN_STRENGTH} and extrapolates the strength for the target duration.
+     * @param targetDuration the hashing time to aim for
+     * @return the strength between {@link #MIN_STRENGTH} and {@link #MAX_STRENGTH}
+     */
+    public static int calibrate(Duration targetDuration) {
+        // warms up the JIT so the measurement reflects steady state hashing
+        BCrypt.hashpw(SAMPLE_PASSWORD, BCrypt.gensalt(4));
+
+        long fastestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < MEASUREMENTS; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw(SAMPLE_PASSWORD, BCrypt.gensalt(MIN_STRENGTH));
+            fastestNanos = Math.min(fastestNanos, System.nanoTime() - start);
+        }
+        return strengthFor(targetDuration.toNanos(), fastestNanos);
+    }
+
+    /**
+     * Extrapolates the strength for the target duration from a hash time measured at {@link #MIN_STRENGTH}.
+     * @param targetNanos the hashing time to aim for
+     * @param measuredNanos the hashing time at {@link #MIN_STRENGTH}
+     * @return the strength between {@link #MIN_STRENGTH} and {@link #MAX_STRENGTH}
+     */
+    static int strengthFor(long targetNanos, long measuredNanos) {
+        int strength = MIN_STRENGTH;
+        long nanos = Math.max(measuredNanos, 1);
+        while (strength < MAX_STRENGTH && nanos * 2 <= targetNanos) {
+            nanos *= 2;
+            strength++;
+        }
+        return strength;
+    }
+}
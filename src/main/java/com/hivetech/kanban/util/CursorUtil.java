@@ -0,0 +1,41 @@
+package com.hivetech.kanban.util;
+
+import com.hivetech.kanban.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Encodes keyset pagination positions as opaque, URL-safe cursors so clients never depend on the sort key.
+ */
+public final class CursorUtil {
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private CursorUtil() {
+    }
+
+    /**
+     * Encodes the id of the last returned task into a cursor.
+     * @param id the id of the last task on the page
+     * @return opaque cursor
+     */
+    public static String encode(UUID id) {
+        return ENCODER.encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously issued by {@link #encode(UUID)}.
+     * @param cursor the opaque cursor
+     * @return id of the task to continue after
+     * @throws InvalidCursorException if the cursor was not issued by this API
+     */
+    public static UUID decode(String cursor) throws InvalidCursorException {
+        try {
+            return UUID.fromString(new String(DECODER.decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Cursor is malformed.");
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.hivetech.kanban.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
@@ -7,42 +10,90 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String TOKEN_VERSION_CLAIM = "ver";
+
     @Value("${jwt.secret-key}")
     private String jwtSecret;
     @Value("${jwt.expiration}")
     private long expiration;
+    @Value("${jwt.verified-cache.maximum-size:10000}")
+    private long verifiedCacheMaximumSize;
     private SecretKey key;
+    private JwtParser parser;
+    private Cache<String, Claims> verifiedTokens;
 
     /**
-     * Initializes the key after the class is instantiated and the jwtSecret is injected,
-     * preventing the repeated creation of the key and enhancing performance
+     * Initializes the key, the parser and the cache of verified tokens after the class is instantiated
+     * and the jwtSecret is injected, preventing their repeated creation and enhancing performance
      */
     @PostConstruct
     public void init() {
         this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        // the parser is immutable and thread-safe, so one instance serves every request
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaximumSize)
+                .expireAfter(new UntilTokenExpiration())
+                .build();
     }
 
 
     /**
-     * Generates jwt token from provided username, secret key,
-     * and expiration date.
+     * Generates jwt token from provided username, user id, token version, secret key,
+     * and expiration date. The id and version claims let requests be authenticated without loading the user.
      * @param username the username of existing user
+     * @param userId the id of existing user
+     * @param tokenVersion the current token version of existing user
      * @return jwt token as {@code String}
      */
-    public String generateToken(String username){
+    public String generateToken(String username, UUID userId, int tokenVersion){
         return Jwts.builder()
                 .setSubject(username)
+                .claim(USER_ID_CLAIM, userId.toString())
+                .claim(TOKEN_VERSION_CLAIM, tokenVersion)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + expiration))
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Verifies the signature and expiration of the token and returns all of its claims from a single parse.
+     * Tokens that were already verified are served from a bounded cache, keyed by the SHA-256 hash of the
+     * token, until they expire, so repeated requests with the same token skip parsing and the HMAC check.
+     * The returned claims are shared and must not be modified.
+     * @param token the jwt token
+     * @return Claims of the verified token
+     * @throws JwtException if the token is malformed, its signature is invalid or it is expired
+     */
+    public Claims verifyToken(String token) {
+        String tokenHash = hash(token);
+        Claims cached = verifiedTokens.getIfPresent(tokenHash);
+        if (cached != null && !isExpired(cached)) {
+            return cached;
+        }
+
+        Claims claims = extractAllClaims(token);
+        if (claims.getExpiration() != null) {
+            // tokens without expiration are never cached, they would otherwise stay until evicted by size
+            verifiedTokens.put(tokenHash, claims);
+        }
+        return claims;
+    }
+
     /**
      * Extracts the username from the jwt token sent by a user.
      * @param token the jwt token
@@ -60,7 +111,7 @@ public class JwtUtil {
      * @param <T> claim to be processed
      */
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = verifyToken(token);
         return claimsResolver.apply(claims);
     }
 
@@ -71,26 +122,18 @@ public class JwtUtil {
      * @return true if the token is valid, false otherwise
      */
     public boolean isTokenValid(String token, String username){
-        final String tokenUsername = extractUsername(token);
-        return tokenUsername.equals(username) && !isTokenExpired(token);
-    }
-
-    /**
-     * Evaluates whether the given token is expired or not.
-     * @param token the token to evaluate
-     * @return true if the token is expired, false otherwise
-     */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        final Claims claims = verifyToken(token);
+        return username.equals(claims.getSubject()) && !isExpired(claims);
     }
 
     /**
-     * Extract the expiration date from the token
-     * @param token the token to extract the date from
-     * @return Date of expiration
+     * Evaluates whether the given claims are expired or not.
+     * @param claims the claims to evaluate
+     * @return true if the claims are expired, false otherwise
      */
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private boolean isExpired(Claims claims) {
+        Date expirationDate = claims.getExpiration();
+        return expirationDate != null && expirationDate.before(new Date());
     }
 
     /**
@@ -100,10 +143,42 @@ public class JwtUtil {
      * @return Claims extracted from the token
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Hashes the token so that the cache does not keep usable tokens in memory.
+     * @param token the token to hash
+     * @return Base64 encoded SHA-256 hash of the token
+     */
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Expires a cached token at the same moment the token itself expires.
+     */
+    private static final class UntilTokenExpiration implements Expiry<String, Claims> {
+        @Override
+        public long expireAfterCreate(String tokenHash, Claims claims, long currentTime) {
+            long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String tokenHash, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(tokenHash, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String tokenHash, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -0,0 +1,74 @@
+package com.hivetech.kanban.util;
+
+import com.hivetech.kanban.dto.TaskResponseDTO;
+import com.hivetech.kanban.exception.PreconditionFailedException;
+import org.springframework.util.DigestUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Derives entity tags from task versions, so conditional requests are answered without serializing tasks.
+ * A task's tag is its quoted version; a list's tag is a digest of the ids and versions of its tasks together
+ * with the state of the list that is not part of the tasks, such as totals.
+ */
+public final class TaskETagUtil {
+    private static final String ANY = "*";
+    private static final int BYTES_PER_TASK = 2 * Long.BYTES + Integer.BYTES;
+
+    private TaskETagUtil() {
+    }
+
+    /**
+     * @param task the task
+     * @return the strong entity tag of the task
+     */
+    public static String of(TaskResponseDTO task) {
+        return quote(Integer.toString(task.getVersion()));
+    }
+
+    /**
+     * @param tasks the tasks of the list, in order
+     * @param state the remaining state of the list, e.g. its total or whether a next page exists
+     * @return the strong entity tag of the list
+     */
+    public static String of(List<TaskResponseDTO> tasks, Object... state) {
+        byte[] stateBytes = Arrays.toString(state).getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(tasks.size() * BYTES_PER_TASK + stateBytes.length);
+        for (TaskResponseDTO task : tasks) {
+            buffer.putLong(task.getId().getMostSignificantBits())
+                    .putLong(task.getId().getLeastSignificantBits())
+                    .putInt(task.getVersion());
+        }
+        buffer.put(stateBytes);
+        return quote(DigestUtils.md5DigestAsHex(buffer.array()));
+    }
+
+    /**
+     * Reads the task version a write is conditional on from an {@code If-Match} header.
+     * @param ifMatch the header value, may be null
+     * @return the expected version, or null if the write is unconditional ({@code *} or no header)
+     * @throws PreconditionFailedException if the header is not a single strong
+     * tag of a task version, which no task can match
+     */
+    public static Integer expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Integer.valueOf(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // falls through to the failed precondition
+            }
+        }
+        throw new PreconditionFailedException("If-Match does not match the current version of the task.");
+    }
+
+    private static String quote(String value) {
+        return "\"" + value + "\"";
+    }
+}
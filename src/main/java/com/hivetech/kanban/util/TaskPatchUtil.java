@@ -0,0 +1,157 @@
+package com.hivetech.kanban.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.fge.jsonpatch.JsonPatchException;
+import com.hivetech.kanban.model.Priority;
+import com.hivetech.kanban.model.Status;
+import com.hivetech.kanban.model.Task;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Applies JSON Patch (RFC 6902) documents that only touch the editable task fields directly to a {@link Task},
+ * without converting the task to a JSON tree and back. Supported are {@code add}, {@code replace},
+ * {@code remove} and {@code test} on {@code /title}, {@code /description}, {@code /status} and {@code /priority}
+ * with string or null values; patches containing anything else are left to the generic JSON Patch implementation,
+ * which compares and converts numbers, booleans, objects and arrays by their JSON type. Status and priority are
+ * validated like the generic implementation does: values must be exact enum names and cannot be removed.
+ */
+@Component
+public class TaskPatchUtil {
+    private static final Set<String> SUPPORTED_OPERATIONS = Set.of("add", "replace", "remove", "test");
+    private static final Set<String> SUPPORTED_PATHS = Set.of("/title", "/description", "/status", "/priority");
+
+    /**
+     * Applies the patch to the task if every operation is supported. The operations are first applied to a
+     * staged copy of the fields, so the task is left untouched when any operation fails.
+     * @param patch the JSON Patch document
+     * @param task the task to update
+     * @return true if the patch was applied, false if it contains unsupported operations and nothing was changed
+     * @throws JsonPatchException if the patch is not an array, a {@code test} fails or a value is invalid
+     */
+    public boolean tryApply(JsonNode patch, Task task) throws JsonPatchException {
+        if (!patch.isArray()) {
+            throw new JsonPatchException("JSON Patch must be an array of operations");
+        }
+        for (JsonNode operation : patch) {
+            if (!isSupported(operation)) {
+                return false;
+            }
+        }
+
+        StagedTask staged = new StagedTask(task);
+        for (JsonNode operation : patch) {
+            String op = operation.get("op").asText();
+            String path = operation.get("path").asText();
+            JsonNode value = operation.get("value");
+
+            switch (op) {
+                case "add", "replace" -> staged.set(path, value);
+                case "remove" -> staged.set(path, null);
+                case "test" -> {
+                    if (!staged.matches(path, value)) {
+                        throw new JsonPatchException("Test operation failed for path " + path);
+                    }
+                }
+                default -> throw new IllegalStateException("Unexpected operation " + op);
+            }
+        }
+        staged.applyTo(task);
+        return true;
+    }
+
+    /**
+     * Checks a task patched by the generic JSON Patch implementation for what deserializing it does not catch,
+     * so both ways of patching reject the same documents.
+     * @param task the patched task
+     * @throws JsonPatchException if the status or priority was removed
+     */
+    public void validate(Task task) throws JsonPatchException {
+        if (task.getStatus() == null) {
+            throw invalidEnumValue(Status.class, "/status");
+        }
+        if (task.getPriority() == null) {
+            throw invalidEnumValue(Priority.class, "/priority");
+        }
+    }
+
+    private static JsonPatchException invalidEnumValue(Class<? extends Enum<?>> enumClass, String path) {
+        return new JsonPatchException("Value of " + path + " must be one of the " + enumClass.getSimpleName() + " values");
+    }
+
+    private static boolean isSupported(JsonNode operation) {
+        JsonNode op = operation.get("op");
+        JsonNode path = operation.get("path");
+        if (op == null || path == null || !SUPPORTED_OPERATIONS.contains(op.asText())
+                || !SUPPORTED_PATHS.contains(path.asText())) {
+            return false;
+        }
+        if ("remove".equals(op.asText())) {
+            return true;
+        }
+        // asText() would make 123 equal to "123" and turn objects into "", so other types go the generic way
+        JsonNode value = operation.get("value");
+        return value != null && (value.isTextual() || value.isNull());
+    }
+
+    /**
+     * The editable fields of a task while a patch is being applied.
+     */
+    private static final class StagedTask {
+        private String title;
+        private String description;
+        private Status status;
+        private Priority priority;
+
+        private StagedTask(Task task) {
+            this.title = task.getTitle();
+            this.description = task.getDescription();
+            this.status = task.getStatus();
+            this.priority = task.getPriority();
+        }
+
+        private void set(String path, JsonNode value) throws JsonPatchException {
+            boolean isNull = value == null || value.isNull();
+            switch (path) {
+                case "/title" -> title = isNull ? null : value.textValue();
+                case "/description" -> description = isNull ? null : value.textValue();
+                case "/status" -> status = parseEnum(Status.class, path, value);
+                case "/priority" -> priority = parseEnum(Priority.class, path, value);
+                default -> throw new IllegalStateException("Unexpected path " + path);
+            }
+        }
+
+        private boolean matches(String path, JsonNode value) {
+            String expected = value.textValue();
+            return switch (path) {
+                case "/title" -> Objects.equals(title, expected);
+                case "/description" -> Objects.equals(description, expected);
+                case "/status" -> Objects.equals(status == null ? null : status.name(), expected);
+                case "/priority" -> Objects.equals(priority == null ? null : priority.name(), expected);
+                default -> false;
+            };
+        }
+
+        private void applyTo(Task task) {
+            task.setTitle(title);
+            task.setDescription(description);
+            task.setStatus(status);
+            task.setPriority(priority);
+        }
+
+        private static <E extends Enum<E>> E parseEnum(Class<E> enumClass, String path, JsonNode value)
+                throws JsonPatchException {
+            if (value == null || !value.isTextual()) {
+                throw invalidEnumValue(enumClass, path);
+            }
+            try {
+                // exact names only, as Jackson reads them for the generic implementation
+                return Enum.valueOf(enumClass, value.textValue());
+            } catch (IllegalArgumentException e) {
+                throw invalidEnumValue(enumClass, path);
+            }
+        }
+    }
+}
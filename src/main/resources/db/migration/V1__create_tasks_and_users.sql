@@ -0,0 +1,21 @@
+-- Schema previously created by hibernate.ddl-auto=update.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate).
+
+CREATE TABLE "tasks" (
+    id          UUID         NOT NULL,
+    title       VARCHAR(255),
+    description VARCHAR(255),
+    status      VARCHAR(255) CHECK (status IN ('TO_DO', 'IN_PROGRESS', 'DONE')),
+    priority    VARCHAR(255) CHECK (priority IN ('LOW', 'MED', 'HIGH')),
+    version     INTEGER      NOT NULL,
+    CONSTRAINT tasks_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE "user" (
+    id         UUID         NOT NULL,
+    first_name VARCHAR(255),
+    last_name  VARCHAR(255),
+    email      VARCHAR(255) NOT NULL,
+    password   VARCHAR(255) NOT NULL,
+    CONSTRAINT user_pkey PRIMARY KEY (id)
+);
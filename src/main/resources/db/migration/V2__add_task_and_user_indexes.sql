@@ -0,0 +1,9 @@
+-- Status column filter (findByStatus, countByStatus) and the board's priority ordering within a column.
+CREATE INDEX idx_tasks_status_priority ON "tasks" (status, priority);
+
+-- Keyset pagination seeks by id inside a status column (findByStatusOrderByIdAsc).
+-- The unfiltered seek is served by the primary key.
+CREATE INDEX idx_tasks_status_id ON "tasks" (status, id);
+
+-- Login and token validation look users up by email (findByEmail, existsByEmail).
+CREATE UNIQUE INDEX uq_user_email ON "user" (email);
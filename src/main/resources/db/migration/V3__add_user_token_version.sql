@@ -0,0 +1,2 @@
+-- Incremented to revoke every token issued to the user; tokens carry the version they were issued with.
+ALTER TABLE "user" ADD COLUMN token_version INTEGER NOT NULL DEFAULT 0;
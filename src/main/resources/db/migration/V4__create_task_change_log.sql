@@ -0,0 +1,38 @@
+-- Every task write takes the next value of one sequence, so clients can fetch only the changes after the
+-- last value they have seen (GET /api/tasks/changes?since=). Deleted tasks leave a tombstone with a value of
+-- the same sequence. Triggers keep this up to date for every write path, including bulk statements.
+CREATE SEQUENCE task_change_seq;
+
+ALTER TABLE "tasks" ADD COLUMN change_seq BIGINT;
+UPDATE "tasks" SET change_seq = nextval('task_change_seq');
+ALTER TABLE "tasks" ALTER COLUMN change_seq SET NOT NULL;
+CREATE INDEX idx_tasks_change_seq ON "tasks" (change_seq);
+
+CREATE TABLE "task_tombstones" (
+    seq        BIGINT                   NOT NULL,
+    task_id    UUID                     NOT NULL,
+    deleted_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    CONSTRAINT task_tombstones_pkey PRIMARY KEY (seq)
+);
+
+CREATE FUNCTION set_task_change_seq() RETURNS trigger AS $$
+BEGIN
+    NEW.change_seq := nextval('task_change_seq');
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_tasks_change_seq
+    BEFORE INSERT OR UPDATE ON "tasks"
+    FOR EACH ROW EXECUTE FUNCTION set_task_change_seq();
+
+CREATE FUNCTION record_task_tombstone() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO "task_tombstones" (seq, task_id) VALUES (nextval('task_change_seq'), OLD.id);
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_tasks_tombstone
+    AFTER DELETE ON "tasks"
+    FOR EACH ROW EXECUTE FUNCTION record_task_tombstone();
@@ -0,0 +1,37 @@
+-- Tombstones are pruned after a retention period. The highest pruned value is kept, so clients whose cursor
+-- is older than it are told to reload the board instead of silently missing deletions.
+CREATE TABLE "task_change_floor" (
+    pruned_seq BIGINT NOT NULL
+);
+INSERT INTO "task_change_floor" (pruned_seq) VALUES (0);
+
+-- Change sequence values are taken at write time, not at commit, so a transaction may commit a value lower
+-- than one a client has already read. Before its first value, every writing transaction takes a shared
+-- advisory lock keyed by the last value handed out so far; all values of the transaction are higher. Readers
+-- only serve values below the lowest such key, i.e. below every value a running transaction may still commit.
+CREATE FUNCTION lock_task_change_seq() RETURNS void AS $$
+BEGIN
+    IF current_setting('kanban.change_seq_locked', true) IS DISTINCT FROM 'on' THEN
+        PERFORM pg_advisory_xact_lock_shared((SELECT last_value FROM task_change_seq));
+        PERFORM set_config('kanban.change_seq_locked', 'on', true);
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION set_task_change_seq() RETURNS trigger AS $$
+BEGIN
+    PERFORM lock_task_change_seq();
+    NEW.change_seq := nextval('task_change_seq');
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION record_task_tombstone() RETURNS trigger AS $$
+BEGIN
+    PERFORM lock_task_change_seq();
+    INSERT INTO "task_tombstones" (seq, task_id) VALUES (nextval('task_change_seq'), OLD.id);
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE INDEX idx_task_tombstones_deleted_at ON "task_tombstones" (deleted_at);
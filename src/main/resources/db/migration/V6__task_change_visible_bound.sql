@@ -0,0 +1,20 @@
+-- Readers used to query the rows first and the advisory locks of running writers second. A writer committing
+-- in between was neither visible to the rows nor listed in the locks, so its value could be skipped for good.
+-- The bound is now taken before any row is read, from the sequence first and the locks second: a writer
+-- locking after the sequence was read only takes values above it, and a writer whose lock is gone by the time
+-- the locks are read has committed before the rows are read. Values below the bound are safe to serve.
+CREATE FUNCTION task_change_visible_bound() RETURNS bigint AS $$
+DECLARE
+    issued     bigint;
+    lowest_key bigint;
+BEGIN
+    SELECT CASE WHEN is_called THEN last_value + 1 ELSE last_value END INTO issued FROM task_change_seq;
+    -- keys above the sequence belong to other advisory locks; the caller's own writes are visible to it
+    SELECT min((CAST(l.classid AS bigint) << 32) | CAST(l.objid AS bigint)) INTO lowest_key
+    FROM pg_locks l
+    WHERE l.locktype = 'advisory' AND l.objsubid = 1 AND l.pid <> pg_backend_pid()
+      AND l.database = (SELECT oid FROM pg_database WHERE datname = current_database())
+      AND ((CAST(l.classid AS bigint) << 32) | CAST(l.objid AS bigint)) <= issued;
+    RETURN LEAST(issued, lowest_key);
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,170 @@
+package com.hivetech.kanban.benchmark;
+
+import com.hivetech.kanban.dto.AuthResponseDTO;
+import com.hivetech.kanban.dto.LoginRequestDTO;
+import com.hivetech.kanban.dto.RegisterRequestDTO;
+import com.hivetech.kanban.model.User;
+import com.hivetech.kanban.repository.UserRepository;
+import com.hivetech.kanban.service.UserService;
+import com.hivetech.kanban.util.JwtUtil;
+import com.hivetech.kanban.util.UserDTOMapperUtil;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the SQL statements, BCrypt operations and latency of registration and login between the
+ * previous flow (existence check, save, full AuthenticationManager round, re-query for the response) and
+ * the streamlined {@link UserService}. Excluded from the default build; run with
+ * {@code mvn test -Dgroups=benchmark -DexcludedGroups= -Dtest=AuthFlowBenchmarkTest}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        // the production default, so that hashing dominates the latency as it does in production
+        "kanban.password-hashing.bcrypt-strength=10"
+})
+@ActiveProfiles("test")
+class AuthFlowBenchmarkTest {
+    private static final int ITERATIONS = 20;
+    private static final String EMAIL_PREFIX = "bench-auth-";
+    private static final String PASSWORD = "password";
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AuthenticationManager authenticationManager;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private UserDTOMapperUtil userDTOMapperUtil;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @MockitoSpyBean
+    private PasswordEncoder passwordEncoder;
+
+    @AfterEach
+    void deleteBenchmarkUsers() {
+        jdbcTemplate.update("DELETE FROM \"user\" WHERE email LIKE ?", EMAIL_PREFIX + "%");
+    }
+
+    @Test
+    void streamlinedFlow_shouldNeedFewerQueriesAndHashes() {
+        // warm up the JIT and the connection pool
+        measure("warmup", this::previousRegister, this::previousLogin);
+
+        Result previous = measure("previous", this::previousRegister, this::previousLogin);
+        Result streamlined = measure("streamlined", this::register, this::login);
+
+        System.out.printf("%-12s %-9s %12s %14s %12s%n", "flow", "operation", "statements", "bcrypt ops", "avg ms");
+        for (Result result : List.of(previous, streamlined)) {
+            System.out.printf("%-12s %-9s %12.1f %14.1f %12.1f%n", result.name(), "register",
+                    result.registerStatements(), result.registerHashes(), result.registerMillis());
+            System.out.printf("%-12s %-9s %12.1f %14.1f %12.1f%n", result.name(), "login",
+                    result.loginStatements(), result.loginHashes(), result.loginMillis());
+        }
+
+        assertEquals(1.0, streamlined.registerStatements());
+        assertEquals(1.0, streamlined.registerHashes());
+        assertEquals(1.0, streamlined.loginStatements());
+        assertEquals(1.0, streamlined.loginHashes());
+        assertTrue(streamlined.registerStatements() < previous.registerStatements());
+        assertTrue(streamlined.registerHashes() < previous.registerHashes());
+        // previous logins are served by the user details cache warmed during registration, so only the
+        // response re-query remained; the streamlined login needs no more than that
+        assertTrue(streamlined.loginStatements() <= previous.loginStatements());
+    }
+
+    private Result measure(String name, Consumer<String> register, Consumer<String> login) {
+        Phase registration = run(name, register);
+        Phase authentication = run(name, login);
+        return new Result(name,
+                registration.statements(), registration.hashes(), registration.millis(),
+                authentication.statements(), authentication.hashes(), authentication.millis());
+    }
+
+    private Phase run(String name, Consumer<String> operation) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Mockito.clearInvocations(passwordEncoder);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            operation.accept(EMAIL_PREFIX + name + "-" + i + "@example.com");
+        }
+        long nanos = System.nanoTime() - start;
+
+        long hashes = Mockito.mockingDetails(passwordEncoder).getInvocations().stream()
+                .filter(invocation -> List.of("encode", "matches").contains(invocation.getMethod().getName()))
+                .count();
+        return new Phase(
+                (double) statistics.getPrepareStatementCount() / ITERATIONS,
+                (double) hashes / ITERATIONS,
+                nanos / 1e6 / ITERATIONS);
+    }
+
+    private void register(String email) {
+        userService.registerUser(registerRequest(email));
+    }
+
+    private void login(String email) {
+        userService.authenticateUser(new LoginRequestDTO(email, PASSWORD));
+    }
+
+    private void previousRegister(String email) {
+        if (userRepository.existsByEmail(email)) {
+            throw new IllegalStateException("User already exists.");
+        }
+        userRepository.save(new User("Bench", "User", email, passwordEncoder.encode(PASSWORD)));
+        previousLogin(email);
+    }
+
+    private AuthResponseDTO previousLogin(String email) {
+        UserDetails userDetails = (UserDetails) authenticationManager
+                .authenticate(new UsernamePasswordAuthenticationToken(email, PASSWORD))
+                .getPrincipal();
+        User user = userRepository.findByEmail(userDetails.getUsername());
+        String token = jwtUtil.generateToken(user.getEmail(), user.getId(), user.getTokenVersion());
+        return new AuthResponseDTO(userDTOMapperUtil.toDTO(user), token);
+    }
+
+    private static RegisterRequestDTO registerRequest(String email) {
+        RegisterRequestDTO request = new RegisterRequestDTO();
+        request.setFirstName("Bench");
+        request.setLastName("User");
+        request.setEmail(email);
+        request.setPassword(PASSWORD);
+        return request;
+    }
+
+    private record Phase(double statements, double hashes, double millis) {
+    }
+
+    private record Result(String name,
+                          double registerStatements, double registerHashes, double registerMillis,
+                          double loginStatements, double loginHashes, double loginMillis) {
+    }
+}
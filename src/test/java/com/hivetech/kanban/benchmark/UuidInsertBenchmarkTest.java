@@ -0,0 +1,76 @@
+package com.hivetech.kanban.benchmark;
+
+import com.hivetech.kanban.util.TimeOrderedUuidGenerator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares primary-key insert throughput and index size of random (v4) and time-ordered (v7) UUIDs
+ * against the test Postgres. Excluded from the default build; run with
+ * {@code mvn test -Dgroups=benchmark -DexcludedGroups= -Dtest=UuidInsertBenchmarkTest}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class UuidInsertBenchmarkTest {
+    private static final int ROWS = 200_000;
+    private static final int BATCH_SIZE = 1_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void timeOrderedIds_shouldInsertIntoSmallerPrimaryKeyIndex() {
+        // warm up the JIT and the connection pool
+        insert("warmup", UUID::randomUUID, 20_000);
+
+        Result random = insert("v4", UUID::randomUUID, ROWS);
+        Result timeOrdered = insert("v7", TimeOrderedUuidGenerator::generate, ROWS);
+
+        System.out.printf("%-8s %10s %14s %12s%n", "ids", "rows", "rows/s", "pk size");
+        for (Result result : List.of(random, timeOrdered)) {
+            System.out.printf("%-8s %10d %14.0f %9d kB%n",
+                    result.name(), ROWS, ROWS / (result.nanos() / 1e9), result.indexBytes() / 1024);
+        }
+
+        // appending keeps pages full, random inserts leave them about half full after splits
+        assertTrue(timeOrdered.indexBytes() < random.indexBytes());
+    }
+
+    private Result insert(String name, Supplier<UUID> ids, int rows) {
+        String table = "bench_uuid_" + name;
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+        jdbcTemplate.execute("CREATE TABLE " + table + " (id UUID PRIMARY KEY, title VARCHAR(255))");
+        try {
+            long start = System.nanoTime();
+            for (int inserted = 0; inserted < rows; inserted += BATCH_SIZE) {
+                List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+                for (int i = 0; i < BATCH_SIZE; i++) {
+                    batch.add(new Object[]{ ids.get(), "Benchmark task" });
+                }
+                jdbcTemplate.batchUpdate("INSERT INTO " + table + " (id, title) VALUES (?, ?)", batch);
+            }
+            long nanos = System.nanoTime() - start;
+
+            Long indexBytes = jdbcTemplate.queryForObject(
+                    "SELECT pg_relation_size('" + table + "_pkey')", Long.class);
+            return new Result(name, nanos, indexBytes);
+        } finally {
+            jdbcTemplate.execute("DROP TABLE " + table);
+        }
+    }
+
+    private record Result(String name, long nanos, long indexBytes) {
+    }
+}
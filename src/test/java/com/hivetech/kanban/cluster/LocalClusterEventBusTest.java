@@ -0,0 +1,51 @@
+package com.hivetech.kanban.cluster;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalClusterEventBusTest {
+
+    private LocalClusterEventBus bus;
+
+    @BeforeEach
+    void setUp() {
+        bus = new LocalClusterEventBus();
+    }
+
+    @Test
+    void publish_shouldDeliverToEverySubscriberOfTopic() {
+        List<String> received = new ArrayList<>();
+        bus.subscribe("topic", String.class, message -> received.add("first " + message));
+        bus.subscribe("topic", String.class, message -> received.add("second " + message));
+        bus.subscribe("other", String.class, message -> received.add("other " + message));
+
+        bus.publish("topic", "hello");
+
+        assertEquals(List.of("first hello", "second hello"), received);
+    }
+
+    @Test
+    void publish_failingSubscriber_shouldNotStopOthers() {
+        List<String> received = new ArrayList<>();
+        bus.subscribe("topic", String.class, message -> {
+            throw new IllegalStateException("broken");
+        });
+        bus.subscribe("topic", String.class, received::add);
+
+        bus.publish("topic", "hello");
+
+        assertEquals(List.of("hello"), received);
+    }
+
+    @Test
+    void subscribe_otherTypeForSameTopic_shouldThrow() {
+        bus.subscribe("topic", String.class, message -> { });
+
+        assertThrows(IllegalArgumentException.class, () -> bus.subscribe("topic", Integer.class, message -> { }));
+    }
+}
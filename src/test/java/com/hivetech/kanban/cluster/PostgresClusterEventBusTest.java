@@ -0,0 +1,69 @@
+package com.hivetech.kanban.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostgresClusterEventBusTest {
+
+    @Mock private DataSource dataSource;
+    private PostgresClusterEventBus bus;
+    private final List<String> received = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        // not started, notifications are handed to receive directly
+        bus = new PostgresClusterEventBus(dataSource, new ObjectMapper(), "kanban_cluster", Duration.ofSeconds(5));
+        bus.subscribe("topic", String.class, received::add);
+    }
+
+    @Test
+    void fragments_shouldStayWithinByteLimitWithoutSplittingCharacters() {
+        String text = "abé😀c".repeat(50);
+
+        List<String> fragments = PostgresClusterEventBus.fragments(text, 7);
+
+        assertEquals(text, String.join("", fragments));
+        fragments.forEach(fragment -> {
+            assertTrue(fragment.getBytes(StandardCharsets.UTF_8).length <= 7);
+            assertFalse(Character.isHighSurrogate(fragment.charAt(fragment.length() - 1)));
+        });
+    }
+
+    @Test
+    void receive_shouldReassembleFragmentsOfOtherInstance() {
+        bus.receive("other|1|0|3|topic|\"hel");
+        bus.receive("other|1|1|3|topic|lo wo");
+        assertTrue(received.isEmpty());
+
+        bus.receive("other|1|2|3|topic|rld\"");
+
+        assertEquals(List.of("hello world"), received);
+    }
+
+    @Test
+    void receive_missingFragment_shouldDropMessage() {
+        bus.receive("other|1|0|3|topic|\"hel");
+        bus.receive("other|1|2|3|topic|rld\"");
+        bus.receive("other|2|0|1|topic|\"next\"");
+
+        assertEquals(List.of("next"), received);
+    }
+
+    @Test
+    void constructor_invalidChannel_shouldThrow() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new PostgresClusterEventBus(dataSource, new ObjectMapper(), "kanban; DROP TABLE tasks", Duration.ofSeconds(5)));
+    }
+}
@@ -0,0 +1,173 @@
+package com.hivetech.kanban.controller;
+
+import com.hivetech.kanban.dto.TaskRequestDTO;
+import com.hivetech.kanban.exceptionhandler.GlobalExceptionHandler;
+import com.hivetech.kanban.model.Task;
+import com.hivetech.kanban.service.TaskChangeService;
+import com.hivetech.kanban.service.TaskCountService;
+import com.hivetech.kanban.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TaskControllerTest {
+
+    @Mock private TaskService taskService;
+    @Mock private TaskCountService taskCountService;
+    @Mock private TaskChangeService taskChangeService;
+    @InjectMocks private TaskController taskController;
+
+    private static final String TASK_JSON = "{\"title\":\"Title\",\"description\":\"Desc\",\"status\":\"TO_DO\",\"priority\":\"LOW\"}";
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(taskController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void moveTask_missingStatus_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(put("/api/tasks/{id}/status", UUID.randomUUID())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").exists());
+
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void moveTask_unknownStatus_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(put("/api/tasks/{id}/status", UUID.randomUUID())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"bogus\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").exists());
+
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void updateTask_concurrentWriteWithoutExpectedVersion_shouldReturnConflict() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(taskService.updateTask(eq(id), any(TaskRequestDTO.class), isNull()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Task.class, id));
+
+        mockMvc.perform(put("/api/tasks/{id}", id)
+                        .header(HttpHeaders.IF_MATCH, "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TASK_JSON))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void updateTask_concurrentWriteWithExpectedVersion_shouldReturnPreconditionFailed() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(taskService.updateTask(eq(id), any(TaskRequestDTO.class), eq(3)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Task.class, id));
+
+        mockMvc.perform(put("/api/tasks/{id}", id)
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TASK_JSON))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void updateTasks_staleVersion_shouldReturnConflict() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(taskService.updateTasks(anyList())).thenThrow(new ObjectOptimisticLockingFailureException(Task.class, id));
+
+        mockMvc.perform(put("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"id\":\"" + id + "\",\"title\":\"Title\",\"status\":\"TO_DO\",\"priority\":\"LOW\",\"version\":2}]"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void updateTasks_itemWithoutId_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(put("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"title\":\"Title\",\"status\":\"TO_DO\",\"priority\":\"LOW\",\"version\":2}]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$['[0].id']").exists());
+
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void createTasks_itemWithoutStatus_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + TASK_JSON + ",{\"title\":\"Title\",\"priority\":\"HIGH\"}]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$['[1].status']").exists());
+
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void updateTasks_duplicateId_shouldReturnBadRequest() throws Exception {
+        UUID id = UUID.randomUUID();
+        String item = "{\"id\":\"" + id + "\",\"title\":\"Title\",\"status\":\"TO_DO\",\"priority\":\"LOW\",\"version\":2}";
+
+        mockMvc.perform(put("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + item + "," + item + "]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Duplicate Task"));
+
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void deleteTasks_nullId_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(delete("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"" + UUID.randomUUID() + "\",null]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$['[1]']").exists());
+
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void deleteTasks_overBulkLimit_shouldReturnBadRequest() throws Exception {
+        String ids = IntStream.range(0, 1001).mapToObj(i -> "\"" + UUID.randomUUID() + "\"").collect(Collectors.joining(",", "[", "]"));
+
+        mockMvc.perform(delete("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(ids))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Too Many Tasks"));
+
+        verifyNoInteractions(taskService);
+    }
+}
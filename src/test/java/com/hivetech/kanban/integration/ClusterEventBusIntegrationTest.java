@@ -0,0 +1,83 @@
+package com.hivetech.kanban.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hivetech.kanban.cluster.PostgresClusterEventBus;
+import com.hivetech.kanban.dto.TaskResponseDTO;
+import com.hivetech.kanban.event.TaskChangedEvent;
+import com.hivetech.kanban.model.Priority;
+import com.hivetech.kanban.model.Status;
+import com.hivetech.kanban.service.TaskEventPublisher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ClusterEventBusIntegrationTest {
+    private static final String CHANNEL = "kanban_cluster_test";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private PostgresClusterEventBus instanceA;
+    private PostgresClusterEventBus instanceB;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        instanceA = new PostgresClusterEventBus(dataSource, objectMapper, CHANNEL, Duration.ofSeconds(1));
+        instanceB = new PostgresClusterEventBus(dataSource, objectMapper, CHANNEL, Duration.ofSeconds(1));
+        instanceA.start();
+        instanceB.start();
+        assertTrue(instanceA.awaitListening(10, TimeUnit.SECONDS));
+        assertTrue(instanceB.awaitListening(10, TimeUnit.SECONDS));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        instanceA.shutdown();
+        instanceB.shutdown();
+    }
+
+    @Test
+    void publish_shouldReachOtherInstanceOnceAndPublisherOnce() throws InterruptedException {
+        BlockingQueue<TaskChangedEvent> receivedByA = new LinkedBlockingQueue<>();
+        BlockingQueue<TaskChangedEvent> receivedByB = new LinkedBlockingQueue<>();
+        instanceA.subscribe(TaskEventPublisher.CLUSTER_TOPIC, TaskChangedEvent.class, receivedByA::add);
+        instanceB.subscribe(TaskEventPublisher.CLUSTER_TOPIC, TaskChangedEvent.class, receivedByB::add);
+        // well above the 8000 bytes of a single notification
+        List<TaskResponseDTO> tasks = IntStream.range(0, 20)
+                .mapToObj(i -> new TaskResponseDTO(UUID.randomUUID(), "Task " + i, "é".repeat(1000), Status.TO_DO, Priority.LOW, 0))
+                .toList();
+
+        instanceA.publish(TaskEventPublisher.CLUSTER_TOPIC, TaskChangedEvent.bulkCreated(tasks));
+
+        TaskChangedEvent received = receivedByB.poll(10, TimeUnit.SECONDS);
+        assertNotNull(received);
+        assertEquals(TaskChangedEvent.ChangeType.CREATED, received.getChangeType());
+        assertTrue(received.isBulk());
+        assertEquals(tasks.stream().map(TaskResponseDTO::getId).toList(),
+                received.getTasks().stream().map(TaskResponseDTO::getId).toList());
+        assertEquals(tasks.getLast().getDescription(), received.getTasks().getLast().getDescription());
+
+        assertEquals(1, receivedByA.size());
+        assertNull(receivedByB.poll(1, TimeUnit.SECONDS));
+        assertEquals(1, receivedByA.size());
+    }
+}
@@ -1,19 +1,48 @@
 package com.hivetech.kanban.integration;
 
+import com.hivetech.kanban.config.TaskEventConfig;
+import com.hivetech.kanban.dto.CursorPageDTO;
+import com.hivetech.kanban.dto.SliceDTO;
+import com.hivetech.kanban.dto.TaskBulkUpdateDTO;
+import com.hivetech.kanban.dto.TaskChangeDTO;
+import com.hivetech.kanban.dto.TaskChangesDTO;
 import com.hivetech.kanban.dto.TaskRequestDTO;
 import com.hivetech.kanban.dto.TaskResponseDTO;
+import com.hivetech.kanban.exception.ChangesExpiredException;
+import com.hivetech.kanban.exception.PreconditionFailedException;
+import com.hivetech.kanban.exception.ResourceNotFoundException;
+import com.hivetech.kanban.model.Status;
 import com.hivetech.kanban.repository.TaskRepository;
+import com.hivetech.kanban.repository.TaskTombstoneRepository;
+import com.hivetech.kanban.service.TaskChangeService;
 import com.hivetech.kanban.service.TaskService;
 import com.hivetech.kanban.util.TaskDTOMapperUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -31,6 +60,28 @@ class TaskServiceIntegrationTest {
     @Autowired
     private TaskDTOMapperUtil mapper;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TaskChangeService taskChangeService;
+
+    @Autowired
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier(TaskEventConfig.TASK_EVENT_EXECUTOR)
+    private ExecutorService taskEventExecutor;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Test
     void createTask_shouldPersistToDatabase() {
         TaskRequestDTO dto = new TaskRequestDTO();
@@ -81,7 +132,7 @@ class TaskServiceIntegrationTest {
         updateDto.setStatus("IN_PROGRESS");
         updateDto.setPriority("HIGH");
 
-        TaskResponseDTO updated = taskService.updateTask(created.getId(), updateDto);
+        TaskResponseDTO updated = taskService.updateTask(created.getId(), updateDto, null);
 
         assertNotNull(updated);
         assertEquals("Updated Title", updated.getTitle());
@@ -89,6 +140,80 @@ class TaskServiceIntegrationTest {
         assertEquals("HIGH", updated.getPriority());
     }
 
+    @Test
+    void updateTask_withExpectedVersion_shouldRejectStaleWrite() {
+        TaskResponseDTO created = taskService.createTask(new TaskRequestDTO("Versioned", "Desc", "TO_DO", "LOW", 0));
+
+        TaskResponseDTO updated = taskService.updateTask(created.getId(),
+                new TaskRequestDTO("First", "Desc", "IN_PROGRESS", "LOW", 0), created.getVersion());
+
+        assertEquals(created.getVersion() + 1, updated.getVersion());
+        assertThrows(PreconditionFailedException.class, () -> taskService.updateTask(created.getId(),
+                new TaskRequestDTO("Second", "Desc", "DONE", "LOW", 0), created.getVersion()));
+        assertThrows(PreconditionFailedException.class, () -> taskService.deleteTask(created.getId(), created.getVersion()));
+        entityManager.clear();
+        assertEquals("First", taskService.getTask(created.getId()).getTitle());
+    }
+
+    @Test
+    void moveTask_shouldUpdateStatusAndVersionInPlace() {
+        TaskResponseDTO created = taskService.createTask(new TaskRequestDTO("Movable", "Desc", "TO_DO", "HIGH", 0));
+
+        TaskResponseDTO moved = taskService.moveTask(created.getId(), Status.IN_PROGRESS, created.getVersion());
+
+        assertEquals("IN_PROGRESS", moved.getStatus());
+        assertEquals("Movable", moved.getTitle());
+        assertEquals("HIGH", moved.getPriority());
+        assertEquals(created.getVersion() + 1, moved.getVersion());
+        assertThrows(PreconditionFailedException.class,
+                () -> taskService.moveTask(created.getId(), Status.DONE, created.getVersion()));
+        assertThrows(ResourceNotFoundException.class, () -> taskService.moveTask(UUID.randomUUID(), Status.DONE, null));
+
+        entityManager.clear();
+        TaskResponseDTO reloaded = taskService.getTask(created.getId());
+        assertEquals("IN_PROGRESS", reloaded.getStatus());
+        assertEquals(moved.getVersion(), reloaded.getVersion());
+    }
+
+    @Test
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    void moveTask_afterConcurrentMove_shouldReturnStatusItCommitted() throws Exception {
+        UUID id = taskService.createTask(new TaskRequestDTO("Contended", "Desc", "TO_DO", "HIGH", 0)).getId();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch firstMoved = new CountDownLatch(1);
+        CountDownLatch commitFirst = new CountDownLatch(1);
+        try {
+            CompletableFuture<Void> first = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status -> {
+                taskRepository.moveTask(id, "IN_PROGRESS", null);
+                firstMoved.countDown();
+                try {
+                    commitFirst.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertTrue(firstMoved.await(10, TimeUnit.SECONDS));
+            CompletableFuture<TaskRepository.UpdatedTask> second = CompletableFuture.supplyAsync(() ->
+                    transaction.execute(status -> taskRepository.moveTask(id, "DONE", null).orElseThrow()));
+            // the second move waits for the lock of the first
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (jdbcTemplate.queryForObject("SELECT count(*) FROM pg_locks WHERE NOT granted", Long.class) == 0) {
+                assertTrue(System.nanoTime() < deadline, "second move did not wait for the first");
+                Thread.onSpinWait();
+            }
+            commitFirst.countDown();
+            first.get(10, TimeUnit.SECONDS);
+
+            TaskRepository.UpdatedTask moved = second.get(10, TimeUnit.SECONDS);
+            assertEquals(Status.DONE, moved.getStatus());
+            assertEquals(Status.IN_PROGRESS, moved.getPreviousStatus());
+        } finally {
+            commitFirst.countDown();
+            taskRepository.deleteById(id);
+            jdbcTemplate.update("DELETE FROM task_tombstones WHERE task_id = ?", id);
+        }
+    }
+
     @Test
     void getAllTasks_shouldReturnPageWithAtLeastOne() {
         TaskRequestDTO dto = new TaskRequestDTO();
@@ -107,6 +232,82 @@ class TaskServiceIntegrationTest {
         assertNotNull(first.getTitle());
     }
 
+    @Test
+    void getTaskSlice_shouldReturnContentWithoutTotal() {
+        TaskRequestDTO dto = new TaskRequestDTO();
+        dto.setTitle("Integration Title");
+        dto.setDescription("Integration Description");
+        dto.setStatus("DONE");
+        dto.setPriority("MED");
+
+        taskService.createTask(dto);
+
+        SliceDTO<TaskResponseDTO> slice = taskService.getTaskSlice(Status.DONE, PageRequest.of(0, 10));
+
+        assertFalse(slice.getContent().isEmpty());
+        assertFalse(slice.isHasNext());
+    }
+
+    @Test
+    void getTasksAfter_shouldWalkAllTasksWithoutDuplicates() {
+        for (int i = 0; i < 3; i++) {
+            TaskRequestDTO dto = new TaskRequestDTO();
+            dto.setTitle("Integration Title " + i);
+            dto.setDescription("Integration Description");
+            dto.setStatus("TO_DO");
+            dto.setPriority("MED");
+            taskService.createTask(dto);
+        }
+
+        CursorPageDTO<TaskResponseDTO> first = taskService.getTasksAfter(Status.TO_DO, null, 2);
+        CursorPageDTO<TaskResponseDTO> second = taskService.getTasksAfter(Status.TO_DO, first.getNextCursor(), 2);
+
+        assertEquals(2, first.getContent().size());
+        assertTrue(first.isHasNext());
+        assertEquals(1, second.getContent().size());
+        assertFalse(second.isHasNext());
+        assertTrue(first.getContent().stream().noneMatch(t -> t.getId().equals(second.getContent().getFirst().getId())));
+    }
+
+    @Test
+    void exportTasks_shouldStreamCreatedTask() throws Exception {
+        TaskRequestDTO dto = new TaskRequestDTO();
+        dto.setTitle("Exported Title");
+        dto.setDescription("Integration Description");
+        dto.setStatus("IN_PROGRESS");
+        dto.setPriority("LOW");
+
+        TaskResponseDTO created = taskService.createTask(dto);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        taskService.exportTasks(Status.IN_PROGRESS, out);
+
+        String export = out.toString(StandardCharsets.UTF_8);
+        assertTrue(export.endsWith("\n"));
+        assertTrue(export.contains(created.getId().toString()));
+    }
+
+    @Test
+    void bulkOperations_shouldCreateUpdateAndDeleteAllTasks() {
+        List<TaskResponseDTO> created = taskService.createTasks(List.of(
+                new TaskRequestDTO("Bulk One", "Integration Description", "TO_DO", "LOW", 0),
+                new TaskRequestDTO("Bulk Two", "Integration Description", "TO_DO", "HIGH", 0)));
+
+        assertEquals(2, created.size());
+        created.forEach(task -> assertTrue(taskRepository.existsById(task.getId())));
+
+        List<TaskResponseDTO> updated = taskService.updateTasks(created.stream()
+                .map(task -> new TaskBulkUpdateDTO(task.getId(), task.getTitle(), "Moved", "DONE", task.getPriority(), task.getVersion()))
+                .toList());
+
+        assertTrue(updated.stream().allMatch(task -> "DONE".equals(task.getStatus())));
+
+        List<UUID> deleted = taskService.deleteTasks(created.stream().map(TaskResponseDTO::getId).toList());
+
+        assertEquals(2, deleted.size());
+        created.forEach(task -> assertFalse(taskRepository.existsById(task.getId())));
+    }
+
     @Test
     void deleteTask_shouldRemoveFromDatabase() {
         TaskRequestDTO dto = new TaskRequestDTO();
@@ -117,8 +318,107 @@ class TaskServiceIntegrationTest {
 
         TaskResponseDTO created = taskService.createTask(dto);
 
-        taskService.deleteTask(created.getId());
+        taskService.deleteTask(created.getId(), null);
 
+        entityManager.clear();
         assertFalse(taskRepository.findById(created.getId()).isPresent());
     }
+
+    @Test
+    void createTasks_shouldNotBroadcastBeforeCommit() throws Exception {
+        double sentBefore = meterRegistry.counter("kanban.websocket.events").count();
+
+        taskService.createTasks(List.of(new TaskRequestDTO("Uncommitted", "Desc", "TO_DO", "LOW", 0)));
+        // the executor runs one task at a time in order, so a wrongly dispatched event has been handled
+        // once a task submitted after it has run
+        taskEventExecutor.submit(() -> { }).get(10, TimeUnit.SECONDS);
+
+        assertEquals(sentBefore, meterRegistry.counter("kanban.websocket.events").count());
+    }
+
+    @Test
+    void getChangesSince_shouldReturnLatestStateAndTombstones() {
+        long since = ((Number) entityManager.createNativeQuery("select nextval('task_change_seq')").getSingleResult()).longValue();
+
+        TaskResponseDTO kept = taskService.createTask(new TaskRequestDTO("Kept", "Desc", "TO_DO", "LOW", 0));
+        TaskResponseDTO deleted = taskService.createTask(new TaskRequestDTO("Deleted", "Desc", "TO_DO", "LOW", 0));
+        taskService.updateTask(kept.getId(), new TaskRequestDTO("Kept", "Desc", "DONE", "LOW", 0), null);
+        taskService.deleteTask(deleted.getId(), null);
+        // the change sequence is assigned by the database, read it back from fresh entities
+        entityManager.flush();
+        entityManager.clear();
+
+        TaskChangesDTO changes = taskChangeService.getChangesSince(since, 100);
+
+        assertEquals(2, changes.getChanges().size());
+        TaskChangeDTO first = changes.getChanges().get(0);
+        TaskChangeDTO second = changes.getChanges().get(1);
+        assertEquals(TaskChangeDTO.UPSERTED, first.getType());
+        assertEquals(kept.getId(), first.getId());
+        assertEquals("DONE", first.getTask().getStatus());
+        assertEquals(TaskChangeDTO.DELETED, second.getType());
+        assertEquals(deleted.getId(), second.getId());
+        assertTrue(first.getSeq() < second.getSeq());
+        assertEquals(second.getSeq(), changes.getNextSince());
+
+        assertTrue(taskChangeService.getChangesSince(changes.getNextSince(), 100).getChanges().isEmpty());
+    }
+
+    @Test
+    void pruneTombstones_shouldExpireOlderCursors() {
+        long since = ((Number) entityManager.createNativeQuery("select nextval('task_change_seq')").getSingleResult()).longValue();
+        TaskResponseDTO deleted = taskService.createTask(new TaskRequestDTO("Pruned", "Desc", "TO_DO", "LOW", 0));
+        taskService.deleteTask(deleted.getId(), null);
+        entityManager.flush();
+
+        assertTrue(taskTombstoneRepository.pruneDeletedBefore(Instant.now().plusSeconds(60)) >= 1);
+
+        assertThrows(ChangesExpiredException.class, () -> taskChangeService.getChangesSince(since, 100));
+        assertNotNull(taskChangeService.getChangesSince(0, 100));
+    }
+
+    @Test
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    void getChangesSince_runningWriter_shouldHoldBackLaterChangesUntilItCommits() throws Exception {
+        long since = jdbcTemplate.queryForObject("select nextval('task_change_seq')", Long.class);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        UUID[] slow = new UUID[1];
+        UUID fast = null;
+        try {
+            CompletableFuture<Void> slowWriter = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status -> {
+                slow[0] = taskService.createTask(new TaskRequestDTO("Slow", "Desc", "TO_DO", "LOW", 0)).getId();
+                taskRepository.flush();
+                written.countDown();
+                try {
+                    commit.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertTrue(written.await(10, TimeUnit.SECONDS));
+            // committed with a higher value while the slow writer still runs
+            fast = taskService.createTask(new TaskRequestDTO("Fast", "Desc", "TO_DO", "LOW", 0)).getId();
+
+            TaskChangesDTO early = taskChangeService.getChangesSince(since, 100);
+            assertTrue(early.getChanges().isEmpty());
+            assertEquals(since, early.getNextSince());
+
+            commit.countDown();
+            slowWriter.get(10, TimeUnit.SECONDS);
+
+            List<UUID> changed = taskChangeService.getChangesSince(since, 100).getChanges().stream()
+                    .map(TaskChangeDTO::getId).toList();
+            assertEquals(List.of(slow[0], fast), changed);
+        } finally {
+            commit.countDown();
+            for (UUID id : new UUID[]{slow[0], fast}) {
+                if (id != null) {
+                    taskRepository.deleteById(id);
+                    jdbcTemplate.update("DELETE FROM task_tombstones WHERE task_id = ?", id);
+                }
+            }
+        }
+    }
 }
@@ -1,18 +1,24 @@
 package com.hivetech.kanban.integration;
 
+import com.hivetech.kanban.config.CacheConfig;
 import com.hivetech.kanban.dto.AuthResponseDTO;
 import com.hivetech.kanban.dto.LoginRequestDTO;
 import com.hivetech.kanban.dto.RegisterRequestDTO;
+import com.hivetech.kanban.model.User;
 import com.hivetech.kanban.repository.UserRepository;
 import com.hivetech.kanban.service.UserService;
 import com.hivetech.kanban.util.JwtUtil;
 import com.hivetech.kanban.util.UserDTOMapperUtil;
 import jakarta.persistence.EntityExistsException;
 import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -34,8 +40,20 @@ class UserServiceIntegrationTest {
     @Autowired
     private UserDTOMapperUtil mapper;
 
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private CacheManager cacheManager;
+
     private static final String EMAIL = "test@example.com";
 
+    @BeforeEach
+    void clearUserDetailsCache() {
+        // rolled back test transactions never publish the after-commit eviction
+        cacheManager.getCache(CacheConfig.USER_DETAILS_CACHE).clear();
+    }
+
     @Test
     void registerUser_new_shouldSaveAndAuthenticate() {
         RegisterRequestDTO registerDTO = new RegisterRequestDTO();
@@ -107,4 +125,34 @@ class UserServiceIntegrationTest {
         assertThrows(BadCredentialsException.class,
                 () -> userService.authenticateUser(loginDTO));
     }
+
+    @Test
+    void revokeTokens_shouldIssueTokensWithNextVersion() {
+        RegisterRequestDTO registerDTO = new RegisterRequestDTO();
+        registerDTO.setFirstName("Test");
+        registerDTO.setLastName("User");
+        registerDTO.setEmail(EMAIL);
+        registerDTO.setPassword("password");
+        AuthResponseDTO registered = userService.registerUser(registerDTO);
+
+        userService.revokeTokens(EMAIL);
+
+        AuthResponseDTO loggedIn = userService.authenticateUser(new LoginRequestDTO(EMAIL, "password"));
+        assertEquals(0, jwtUtil.verifyToken(registered.getToken()).get(JwtUtil.TOKEN_VERSION_CLAIM, Integer.class));
+        assertEquals(1, jwtUtil.verifyToken(loggedIn.getToken()).get(JwtUtil.TOKEN_VERSION_CLAIM, Integer.class));
+        assertEquals(1, userRepository.findTokenVersionById(registered.getUser().getId()).orElseThrow());
+    }
+
+    @Test
+    void authenticateUser_weakerStoredHash_shouldRehashWithCurrentStrength() {
+        String weakHash = BCrypt.hashpw("password", BCrypt.gensalt(4));
+        userRepository.save(new User("Test", "User", EMAIL, weakHash));
+
+        userService.authenticateUser(new LoginRequestDTO(EMAIL, "password"));
+
+        String storedHash = userRepository.findByEmail(EMAIL).getPassword();
+        assertNotEquals(weakHash, storedHash);
+        assertTrue(passwordEncoder.matches("password", storedHash));
+        assertFalse(passwordEncoder.upgradeEncoding(storedHash));
+    }
 }
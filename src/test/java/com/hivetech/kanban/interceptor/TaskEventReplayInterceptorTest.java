@@ -0,0 +1,98 @@
+package com.hivetech.kanban.interceptor;
+
+import com.hivetech.kanban.service.TaskEventHistory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class TaskEventReplayInterceptorTest {
+
+    @Mock private TaskEventHistory taskEventHistory;
+    @Mock private SimpleBrokerMessageHandler brokerHandler;
+    @Mock private MessageHandler otherHandler;
+    @Mock private MessageChannel inboundChannel;
+    @InjectMocks private TaskEventReplayInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void subscribeWithResumeToken_shouldLockBeforeBrokerAndReplayAfter() {
+        Message<byte[]> subscribe = subscribe("/topic/tasks/DONE", "epoch-7");
+
+        interceptor.beforeHandle(subscribe, inboundChannel, brokerHandler);
+        verify(taskEventHistory).lockForReplay("/topic/tasks/DONE");
+
+        interceptor.afterMessageHandled(subscribe, inboundChannel, brokerHandler, null);
+        verify(taskEventHistory).replay("/topic/tasks/DONE", "session-1", "sub-0", "epoch-7");
+    }
+
+    @Test
+    void subscribeWithoutResumeToken_shouldBeIgnored() {
+        Message<byte[]> subscribe = subscribe("/topic/tasks", null);
+
+        interceptor.beforeHandle(subscribe, inboundChannel, brokerHandler);
+        interceptor.afterMessageHandled(subscribe, inboundChannel, brokerHandler, null);
+
+        verifyNoReplay();
+    }
+
+    @Test
+    void otherHandlers_shouldBeIgnored() {
+        Message<byte[]> subscribe = subscribe("/topic/tasks", "epoch-7");
+
+        interceptor.beforeHandle(subscribe, inboundChannel, otherHandler);
+        interceptor.afterMessageHandled(subscribe, inboundChannel, otherHandler, null);
+
+        verifyNoReplay();
+    }
+
+    @Test
+    void preSend_shouldLetHistoryHoldBackFramesBehindReplay() {
+        Message<byte[]> live = MessageBuilder.withPayload(new byte[0]).build();
+        when(taskEventHistory.holdBehindReplay(live)).thenReturn(null);
+
+        assertNull(interceptor.preSend(live, inboundChannel));
+    }
+
+    @Test
+    void messageHandled_shouldReleaseNextHeldFrame() {
+        Message<byte[]> replayed = MessageBuilder.withPayload(new byte[0]).build();
+
+        interceptor.afterMessageHandled(replayed, inboundChannel, otherHandler, null);
+
+        verify(taskEventHistory).replayHandled(replayed);
+    }
+
+    private void verifyNoReplay() {
+        verify(taskEventHistory, never()).lockForReplay(anyString());
+        verify(taskEventHistory, never()).replay(any(), any(), any(), any());
+    }
+
+    private static Message<byte[]> subscribe(String destination, String resumeToken) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setDestination(destination);
+        accessor.setSessionId("session-1");
+        accessor.setSubscriptionId("sub-0");
+        if (resumeToken != null) {
+            accessor.setNativeHeader(TaskEventReplayInterceptor.RESUME_TOKEN_HEADER, resumeToken);
+        }
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,97 @@
+package com.hivetech.kanban.interceptor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class WebSocketSendQueueMetricsTest {
+
+    @Mock private WebSocketHandler handler;
+    @Mock private WebSocketSession session;
+    @Mock private MessageChannel outboundChannel;
+    private SimpleMeterRegistry meterRegistry;
+    private WebSocketSendQueueMetrics metrics;
+    private WebSocketHandler decorated;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        metrics = new WebSocketSendQueueMetrics(meterRegistry);
+        decorated = metrics.decorate(handler);
+        when(session.getId()).thenReturn("session-1");
+    }
+
+    @Test
+    void preSend_shouldCountUntilMessageIsWrittenToSession() throws Exception {
+        decorated.afterConnectionEstablished(session);
+        WebSocketSession countingSession = sessionPassedToHandler();
+
+        metrics.preSend(messageFor("session-1"), outboundChannel);
+        metrics.preSend(messageFor("session-1"), outboundChannel);
+        metrics.preSend(messageFor("session-1"), outboundChannel);
+
+        assertEquals(3, metrics.queueDepth("session-1"));
+        assertEquals(3.0, meterRegistry.get("kanban.websocket.session.queue.depth.max").gauge().value());
+
+        countingSession.sendMessage(new TextMessage("frame"));
+
+        assertEquals(2, metrics.queueDepth("session-1"));
+        verify(session).sendMessage(any(TextMessage.class));
+        assertEquals(3L, meterRegistry.get("kanban.websocket.session.queue.depth").summary().count());
+    }
+
+    @Test
+    void preSend_unknownSession_shouldBeIgnored() {
+        metrics.preSend(messageFor("other"), outboundChannel);
+
+        assertEquals(0, metrics.queueDepth("other"));
+        assertEquals(0.0, meterRegistry.get("kanban.websocket.session.queue.depth.total").gauge().value());
+    }
+
+    @Test
+    void afterConnectionClosed_shouldStopTracking() throws Exception {
+        decorated.afterConnectionEstablished(session);
+        metrics.preSend(messageFor("session-1"), outboundChannel);
+
+        decorated.afterConnectionClosed(session, CloseStatus.SESSION_NOT_RELIABLE);
+
+        assertEquals(0, metrics.queueDepth("session-1"));
+        verify(handler).afterConnectionClosed(session, CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    @Test
+    void sendMessage_uncountedFrame_shouldNotGoBelowZero() throws Exception {
+        decorated.afterConnectionEstablished(session);
+
+        sessionPassedToHandler().sendMessage(new TextMessage("error"));
+
+        assertEquals(0, metrics.queueDepth("session-1"));
+    }
+
+    private WebSocketSession sessionPassedToHandler() throws Exception {
+        ArgumentCaptor<WebSocketSession> passed = ArgumentCaptor.forClass(WebSocketSession.class);
+        verify(handler).afterConnectionEstablished(passed.capture());
+        return passed.getValue();
+    }
+
+    private static Message<byte[]> messageFor(String sessionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create();
+        accessor.setSessionId(sessionId);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,79 @@
+package com.hivetech.kanban.security;
+
+import com.hivetech.kanban.service.UserDetailService;
+import com.hivetech.kanban.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.authentication.CredentialsExpiredException;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticationResolverTest {
+
+    private static final String TOKEN = "jwt-token";
+    private static final String EMAIL = "test@example.com";
+
+    @Mock private JwtUtil jwtUtil;
+    @Mock private UserDetailService userDetailService;
+    @Mock private TokenVersionRegistry tokenVersionRegistry;
+
+    private JwtAuthenticationResolver resolver;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        resolver = new JwtAuthenticationResolver(jwtUtil, userDetailService, tokenVersionRegistry, true);
+        userId = UUID.randomUUID();
+    }
+
+    @Test
+    void resolve_currentTokenVersion_shouldBuildPrincipalWithoutLoadingUser() {
+        when(jwtUtil.verifyToken(TOKEN)).thenReturn(claims(userId.toString(), 2));
+        when(tokenVersionRegistry.isCurrent(userId, 2)).thenReturn(true);
+
+        UserDetails userDetails = resolver.resolve(TOKEN);
+
+        JwtUserPrincipal principal = assertInstanceOf(JwtUserPrincipal.class, userDetails);
+        assertEquals(userId, principal.getId());
+        assertEquals(EMAIL, principal.getUsername());
+        verifyNoInteractions(userDetailService);
+    }
+
+    @Test
+    void resolve_revokedTokenVersion_shouldThrow() {
+        when(jwtUtil.verifyToken(TOKEN)).thenReturn(claims(userId.toString(), 1));
+        when(tokenVersionRegistry.isCurrent(userId, 1)).thenReturn(false);
+
+        assertThrows(CredentialsExpiredException.class, () -> resolver.resolve(TOKEN));
+    }
+
+    @Test
+    void resolve_tokenWithoutVersionClaims_shouldLoadUser() {
+        UserDetails loaded = new org.springframework.security.core.userdetails.User(EMAIL, "encoded", Collections.emptyList());
+        when(jwtUtil.verifyToken(TOKEN)).thenReturn(claims(null, null));
+        when(userDetailService.loadUserByUsername(EMAIL)).thenReturn(loaded);
+
+        assertSame(loaded, resolver.resolve(TOKEN));
+        verifyNoInteractions(tokenVersionRegistry);
+    }
+
+    private static Claims claims(String userId, Integer tokenVersion) {
+        Claims claims = Jwts.claims();
+        claims.setSubject(EMAIL);
+        if (userId != null) {
+            claims.put(JwtUtil.USER_ID_CLAIM, userId);
+            claims.put(JwtUtil.TOKEN_VERSION_CLAIM, tokenVersion);
+        }
+        return claims;
+    }
+}
@@ -0,0 +1,112 @@
+package com.hivetech.kanban.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hivetech.kanban.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRoutes(List.of(new RateLimitProperties.Route("tasks", "/api/tasks/**", 2, Duration.ofMinutes(1))));
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RateLimitFilter(properties, new ObjectMapper(), meterRegistry);
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_overCapacity_shouldRejectWithRetryAfter() throws Exception {
+        assertEquals(200, perform("/api/tasks", "10.0.0.1").getStatus());
+        assertEquals(200, perform("/api/tasks/123", "10.0.0.1").getStatus());
+
+        MockHttpServletResponse rejected = perform("/api/tasks", "10.0.0.1");
+
+        assertEquals(429, rejected.getStatus());
+        assertNotNull(rejected.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(Long.parseLong(rejected.getHeader(HttpHeaders.RETRY_AFTER)) >= 1);
+        assertTrue(rejected.getContentAsString().contains("Too Many Requests"));
+        assertEquals(1.0, meterRegistry.get("kanban.rate.limit.rejected")
+                .tag("route", "tasks").tag("client", "ip").counter().count());
+    }
+
+    @Test
+    void doFilter_differentClients_shouldHaveSeparateBuckets() throws Exception {
+        perform("/api/tasks", "10.0.0.1");
+        perform("/api/tasks", "10.0.0.1");
+
+        assertEquals(200, perform("/api/tasks", "10.0.0.2").getStatus());
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new JwtUserPrincipal(UUID.randomUUID(), "test@example.com", 0), null, Collections.emptyList()));
+        MockHttpServletResponse response = perform("/api/tasks", "10.0.0.1");
+        assertEquals(200, response.getStatus());
+        assertEquals("1", response.getHeader(RateLimitFilter.REMAINING_HEADER));
+    }
+
+    @Test
+    void doFilter_unmatchedRoute_shouldPassUnlimited() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletResponse response = perform("/api/auth/login", "10.0.0.1");
+            assertEquals(200, response.getStatus());
+            assertNull(response.getHeader(RateLimitFilter.REMAINING_HEADER));
+        }
+    }
+
+    @Test
+    void tryConsumeRejected_shouldShareTheIpBucketOfAnonymousRequests() throws Exception {
+        perform("/api/tasks", "10.0.0.1");
+        assertTrue(filter.tryConsumeRejected(request("/api/tasks", "10.0.0.1"), new MockHttpServletResponse()));
+
+        MockHttpServletResponse limited = new MockHttpServletResponse();
+        assertFalse(filter.tryConsumeRejected(request("/api/tasks", "10.0.0.1"), limited));
+
+        assertEquals(429, limited.getStatus());
+        assertNotNull(limited.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(429, perform("/api/tasks", "10.0.0.1").getStatus());
+        assertEquals(2.0, meterRegistry.get("kanban.rate.limit.rejected")
+                .tag("route", "tasks").tag("client", "ip").counter().count());
+    }
+
+    @Test
+    void tryConsumeRejected_unmatchedRoute_shouldNotLimit() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(filter.tryConsumeRejected(request("/api/auth/login", "10.0.0.1"), new MockHttpServletResponse()));
+        }
+    }
+
+    private static MockHttpServletRequest request(String uri, String remoteAddress) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setRemoteAddr(remoteAddress);
+        return request;
+    }
+
+    private MockHttpServletResponse perform(String uri, String remoteAddress) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(uri, remoteAddress), response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,62 @@
+package com.hivetech.kanban.security;
+
+import com.hivetech.kanban.cluster.LocalClusterEventBus;
+import com.hivetech.kanban.event.UserChangedEvent;
+import com.hivetech.kanban.repository.UserRepository;
+import com.hivetech.kanban.service.UserEventPublisher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TokenVersionRegistryTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    @Mock private UserRepository userRepository;
+
+    private LocalClusterEventBus clusterEventBus;
+    private TokenVersionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        clusterEventBus = new LocalClusterEventBus();
+        registry = new TokenVersionRegistry(userRepository, clusterEventBus, 100, Duration.ofHours(1));
+    }
+
+    @Test
+    void isCurrent_repeatedCheck_shouldLoadVersionOnce() {
+        when(userRepository.findTokenVersionById(USER_ID)).thenReturn(Optional.of(0));
+
+        assertTrue(registry.isCurrent(USER_ID, 0));
+        assertFalse(registry.isCurrent(USER_ID, 1));
+        verify(userRepository, times(1)).findTokenVersionById(USER_ID);
+    }
+
+    @Test
+    void isCurrent_afterRevocationOnOtherInstance_shouldRejectOldVersion() {
+        when(userRepository.findTokenVersionById(USER_ID)).thenReturn(Optional.of(0)).thenReturn(Optional.of(1));
+        assertTrue(registry.isCurrent(USER_ID, 0));
+
+        // what the cluster event bus delivers for a logout on another instance, long before the ttl
+        clusterEventBus.publish(UserEventPublisher.CLUSTER_TOPIC, new UserChangedEvent(USER_ID, "test@example.com"));
+
+        assertFalse(registry.isCurrent(USER_ID, 0));
+        assertTrue(registry.isCurrent(USER_ID, 1));
+    }
+
+    @Test
+    void isCurrent_unknownUser_shouldRejectEveryVersion() {
+        when(userRepository.findTokenVersionById(USER_ID)).thenReturn(Optional.empty());
+
+        assertFalse(registry.isCurrent(USER_ID, 0));
+    }
+}
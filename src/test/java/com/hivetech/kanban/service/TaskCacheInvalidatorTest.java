@@ -0,0 +1,100 @@
+package com.hivetech.kanban.service;
+
+import com.hivetech.kanban.cluster.LocalClusterEventBus;
+import com.hivetech.kanban.config.CacheConfig;
+import com.hivetech.kanban.event.TaskCacheEvictionEvent;
+import com.hivetech.kanban.model.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskCacheInvalidatorTest {
+
+    private Cache taskCache;
+    private Cache tasksCache;
+    private LocalClusterEventBus clusterEventBus;
+    private TaskCacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(CacheConfig.TASK_CACHE, CacheConfig.TASKS_CACHE);
+        taskCache = cacheManager.getCache(CacheConfig.TASK_CACHE);
+        tasksCache = cacheManager.getCache(CacheConfig.TASKS_CACHE);
+        clusterEventBus = new LocalClusterEventBus();
+        invalidator = new TaskCacheInvalidator(cacheManager, clusterEventBus);
+
+        tasksCache.put("null::0-100-UNSORTED", "all");
+        tasksCache.put("TO_DO::0-100-UNSORTED", "todo");
+        tasksCache.put("IN_PROGRESS::0-100-UNSORTED", "in progress");
+        tasksCache.put("DONE::0-100-UNSORTED", "done");
+    }
+
+    @Test
+    void evict_statusMove_shouldEvictOnlyTaskAndAffectedPages() {
+        UUID id = UUID.randomUUID();
+        UUID otherId = UUID.randomUUID();
+        taskCache.put(id, "task");
+        taskCache.put(otherId, "other");
+
+        invalidator.evict(id, Status.TO_DO, Status.IN_PROGRESS);
+
+        assertNull(taskCache.get(id));
+        assertNotNull(taskCache.get(otherId));
+        assertNull(tasksCache.get("null::0-100-UNSORTED"));
+        assertNull(tasksCache.get("TO_DO::0-100-UNSORTED"));
+        assertNull(tasksCache.get("IN_PROGRESS::0-100-UNSORTED"));
+        assertNotNull(tasksCache.get("DONE::0-100-UNSORTED"));
+    }
+
+    @Test
+    void evict_insideTransaction_shouldWaitForCommit() {
+        UUID id = UUID.randomUUID();
+        taskCache.put(id, "task");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            invalidator.evict(List.of(id), List.of(Status.DONE));
+
+            assertNotNull(taskCache.get(id));
+            assertNotNull(tasksCache.get("DONE::0-100-UNSORTED"));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertNull(taskCache.get(id));
+        assertNull(tasksCache.get("DONE::0-100-UNSORTED"));
+        assertNotNull(tasksCache.get("TO_DO::0-100-UNSORTED"));
+    }
+
+    @Test
+    void evict_createdTask_shouldKeepPagesOfOtherStatuses() {
+        invalidator.evict(UUID.randomUUID(), null, Status.DONE);
+
+        assertNull(tasksCache.get("null::0-100-UNSORTED"));
+        assertNull(tasksCache.get("DONE::0-100-UNSORTED"));
+        assertNotNull(tasksCache.get("TO_DO::0-100-UNSORTED"));
+        assertNotNull(tasksCache.get("IN_PROGRESS::0-100-UNSORTED"));
+    }
+
+    @Test
+    void evictionOfOtherInstance_shouldEvictLocally() {
+        UUID id = UUID.randomUUID();
+        taskCache.put(id, "task");
+
+        clusterEventBus.publish(TaskCacheInvalidator.CLUSTER_TOPIC, new TaskCacheEvictionEvent(List.of(id), List.of(Status.TO_DO)));
+
+        assertNull(taskCache.get(id));
+        assertNull(tasksCache.get("TO_DO::0-100-UNSORTED"));
+        assertNotNull(tasksCache.get("DONE::0-100-UNSORTED"));
+    }
+}
@@ -0,0 +1,168 @@
+package com.hivetech.kanban.service;
+
+import com.hivetech.kanban.dto.TaskChangeDTO;
+import com.hivetech.kanban.dto.TaskChangesDTO;
+import com.hivetech.kanban.dto.TaskResponseDTO;
+import com.hivetech.kanban.exception.ChangesExpiredException;
+import com.hivetech.kanban.model.Priority;
+import com.hivetech.kanban.model.Status;
+import com.hivetech.kanban.model.Task;
+import com.hivetech.kanban.model.TaskTombstone;
+import com.hivetech.kanban.repository.TaskRepository;
+import com.hivetech.kanban.repository.TaskTombstoneRepository;
+import com.hivetech.kanban.util.TaskDTOMapperUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class TaskChangeServiceTest {
+
+    private static final long BOUND = 1000;
+
+    @Mock private TaskRepository taskRepository;
+    @Mock private TaskTombstoneRepository taskTombstoneRepository;
+    @Mock private TaskDTOMapperUtil mapper;
+    private TaskChangeService taskChangeService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        taskChangeService = new TaskChangeService(taskRepository, taskTombstoneRepository, mapper, Duration.ofDays(30));
+        when(taskTombstoneRepository.findVisibleChangeSeqBound()).thenReturn(BOUND);
+        when(mapper.toDTO(any(Task.class))).thenAnswer(invocation -> {
+            TaskResponseDTO dto = new TaskResponseDTO();
+            dto.setId(invocation.<Task>getArgument(0).getId());
+            return dto;
+        });
+    }
+
+    @Test
+    void getChangesSince_shouldMergeWritesAndTombstonesBySequence() {
+        Task first = task(11);
+        Task second = task(14);
+        TaskTombstone tombstone = new TaskTombstone(12L, UUID.randomUUID(), Instant.now());
+        when(taskRepository.findByChangeSeqGreaterThanAndChangeSeqLessThanOrderByChangeSeqAsc(10, BOUND, Limit.of(11))).thenReturn(List.of(first, second));
+        when(taskTombstoneRepository.findBySeqGreaterThanAndSeqLessThanOrderBySeqAsc(10, BOUND, Limit.of(11))).thenReturn(List.of(tombstone));
+
+        TaskChangesDTO result = taskChangeService.getChangesSince(10, 10);
+
+        assertEquals(List.of(11L, 12L, 14L), result.getChanges().stream().map(TaskChangeDTO::getSeq).toList());
+        assertEquals(TaskChangeDTO.UPSERTED, result.getChanges().get(0).getType());
+        assertEquals(first.getId(), result.getChanges().get(0).getTask().getId());
+        assertEquals(TaskChangeDTO.DELETED, result.getChanges().get(1).getType());
+        assertEquals(tombstone.getTaskId(), result.getChanges().get(1).getId());
+        assertNull(result.getChanges().get(1).getTask());
+        assertEquals(14, result.getNextSince());
+        assertFalse(result.isHasMore());
+    }
+
+    @Test
+    void getChangesSince_overLimit_shouldReportMoreAndStopAtLastReturned() {
+        when(taskRepository.findByChangeSeqGreaterThanAndChangeSeqLessThanOrderByChangeSeqAsc(0, BOUND, Limit.of(3))).thenReturn(List.of(task(1), task(4)));
+        when(taskTombstoneRepository.findBySeqGreaterThanAndSeqLessThanOrderBySeqAsc(0, BOUND, Limit.of(3)))
+                .thenReturn(List.of(new TaskTombstone(2L, UUID.randomUUID(), Instant.now())));
+
+        TaskChangesDTO result = taskChangeService.getChangesSince(0, 2);
+
+        assertEquals(List.of(1L, 2L), result.getChanges().stream().map(TaskChangeDTO::getSeq).toList());
+        assertEquals(2, result.getNextSince());
+        assertTrue(result.isHasMore());
+    }
+
+    @Test
+    void getChangesSince_noChanges_shouldKeepCursor() {
+        TaskChangesDTO result = taskChangeService.getChangesSince(42, 100);
+
+        assertTrue(result.getChanges().isEmpty());
+        assertEquals(42, result.getNextSince());
+        assertFalse(result.isHasMore());
+    }
+
+    @Test
+    void getChangesSince_belowPrunedTombstones_shouldThrowExpired() {
+        when(taskTombstoneRepository.findPrunedSeq()).thenReturn(20L);
+
+        assertThrows(ChangesExpiredException.class, () -> taskChangeService.getChangesSince(19, 10));
+        assertDoesNotThrow(() -> taskChangeService.getChangesSince(20, 10));
+        assertDoesNotThrow(() -> taskChangeService.getChangesSince(0, 10));
+    }
+
+    @Test
+    void getChangesSince_runningWriter_shouldReadOnlyBelowBound() {
+        when(taskTombstoneRepository.findVisibleChangeSeqBound()).thenReturn(12L);
+        when(taskRepository.findByChangeSeqGreaterThanAndChangeSeqLessThanOrderByChangeSeqAsc(10, 12, Limit.of(11)))
+                .thenReturn(List.of(task(11)));
+
+        TaskChangesDTO result = taskChangeService.getChangesSince(10, 10);
+
+        assertEquals(List.of(11L), result.getChanges().stream().map(TaskChangeDTO::getSeq).toList());
+        assertEquals(11, result.getNextSince());
+        assertFalse(result.isHasMore());
+    }
+
+    @Test
+    void getChangesSince_writerCommittingBetweenBoundAndRows_shouldNotSkipItsChange() {
+        // a writer holds change_seq 5 (lock key 4) while 6 is committed; it commits right after the bound is read
+        Task inFlight = task(5);
+        Task committed = task(6);
+        List<Task> visible = new ArrayList<>(List.of(committed));
+        when(taskTombstoneRepository.findVisibleChangeSeqBound()).thenAnswer(invocation -> {
+            if (visible.contains(inFlight)) {
+                return 7L;
+            }
+            visible.add(inFlight);
+            return 4L;
+        });
+        when(taskRepository.findByChangeSeqGreaterThanAndChangeSeqLessThanOrderByChangeSeqAsc(anyLong(), anyLong(), any(Limit.class)))
+                .thenAnswer(invocation -> visible.stream()
+                        .filter(task -> task.getChangeSeq() > invocation.<Long>getArgument(0)
+                                && task.getChangeSeq() < invocation.<Long>getArgument(1))
+                        .sorted(Comparator.comparing(Task::getChangeSeq))
+                        .toList());
+
+        TaskChangesDTO first = taskChangeService.getChangesSince(3, 10);
+
+        assertTrue(first.getChanges().isEmpty());
+        assertEquals(3, first.getNextSince());
+
+        TaskChangesDTO second = taskChangeService.getChangesSince(first.getNextSince(), 10);
+
+        assertEquals(List.of(5L, 6L), second.getChanges().stream().map(TaskChangeDTO::getSeq).toList());
+        assertEquals(6, second.getNextSince());
+    }
+
+    @Test
+    void pruneTombstones_shouldDeleteOlderThanRetention() {
+        Instant before = Instant.now().minus(Duration.ofDays(30));
+
+        taskChangeService.pruneTombstones();
+
+        ArgumentCaptor<Instant> cutoff = ArgumentCaptor.forClass(Instant.class);
+        verify(taskTombstoneRepository).pruneDeletedBefore(cutoff.capture());
+        assertFalse(cutoff.getValue().isBefore(before));
+        assertTrue(cutoff.getValue().isBefore(Instant.now().minus(Duration.ofDays(29))));
+    }
+
+    private static Task task(long changeSeq) {
+        Task task = new Task("Title", "Desc", Status.TO_DO, Priority.LOW, 0);
+        task.setId(UUID.randomUUID());
+        ReflectionTestUtils.setField(task, "changeSeq", changeSeq);
+        return task;
+    }
+}
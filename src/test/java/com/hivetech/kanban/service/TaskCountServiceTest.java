@@ -0,0 +1,43 @@
+package com.hivetech.kanban.service;
+
+import com.hivetech.kanban.dto.TaskCountDTO;
+import com.hivetech.kanban.model.Status;
+import com.hivetech.kanban.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TaskCountServiceTest {
+
+    @Mock private TaskRepository taskRepository;
+    @InjectMocks private TaskCountService taskCountService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void countTasks_withStatus_shouldCountByStatus() {
+        when(taskRepository.countByStatus(Status.DONE)).thenReturn(7L);
+
+        TaskCountDTO result = taskCountService.countTasks(Status.DONE);
+
+        assertEquals("DONE", result.getStatus());
+        assertEquals(7L, result.getCount());
+        verify(taskRepository, never()).count();
+    }
+
+    @Test
+    void countTasks_withoutStatus_shouldCountAll() {
+        when(taskRepository.count()).thenReturn(42L);
+
+        TaskCountDTO result = taskCountService.countTasks(null);
+
+        assertNull(result.getStatus());
+        assertEquals(42L, result.getCount());
+    }
+}
@@ -0,0 +1,149 @@
+package com.hivetech.kanban.service;
+
+import com.hivetech.kanban.config.WebSocketProperties;
+import com.hivetech.kanban.dto.TaskWebSocketEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TaskEventBroadcasterTest {
+
+    @Mock private SimpMessagingTemplate messagingTemplate;
+    @Mock private MessageChannel clientOutboundChannel;
+    private TaskEventHistory history;
+    private SimpleMeterRegistry meterRegistry;
+    private TaskEventBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        history = new TaskEventHistory(messagingTemplate, clientOutboundChannel, new WebSocketProperties());
+        // long enough that the test flushes explicitly
+        broadcaster = new TaskEventBroadcaster(history, Duration.ofHours(1), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void send_withinWindow_shouldWaitForFlush() {
+        broadcaster.send("/topic/tasks", new TaskWebSocketEvent("UPDATED", "v1"), UUID.randomUUID());
+
+        verifyNoInteractions(messagingTemplate);
+
+        broadcaster.flush();
+
+        assertEquals("v1", frameSentTo("/topic/tasks").getData());
+    }
+
+    @Test
+    void send_repeatedUpdates_shouldCollapseToLatest() {
+        UUID id = UUID.randomUUID();
+        broadcaster.send("/topic/tasks", new TaskWebSocketEvent("UPDATED", "v1"), id);
+        broadcaster.send("/topic/tasks", new TaskWebSocketEvent("UPDATED", "v2"), id);
+        broadcaster.send("/topic/tasks", new TaskWebSocketEvent("UPDATED", "v3"), id);
+
+        broadcaster.flush();
+
+        TaskWebSocketEvent frame = frameSentTo("/topic/tasks");
+        assertEquals("UPDATED", frame.getEventType());
+        assertEquals("v3", frame.getData());
+        assertEquals(2.0, meterRegistry.counter("kanban.websocket.events.coalesced").count());
+        assertEquals(2.0, meterRegistry.counter("kanban.websocket.frames.saved").count());
+        assertEquals(1.0, meterRegistry.counter("kanban.websocket.frames").count());
+    }
+
+    @Test
+    void send_createdThenUpdated_shouldStayCreated() {
+        UUID id = UUID.randomUUID();
+        broadcaster.send("/topic/tasks", new TaskWebSocketEvent("CREATED", "v1"), id);
+        broadcaster.send("/topic/tasks", new TaskWebSocketEvent("UPDATED", "v2"), id);
+
+        broadcaster.flush();
+
+        TaskWebSocketEvent frame = frameSentTo("/topic/tasks");
+        assertEquals("CREATED", frame.getEventType());
+        assertEquals("v2", frame.getData());
+    }
+
+    @Test
+    void send_differentTasks_shouldSendOneBatchFramePerDestination() {
+        broadcaster.send("/topic/tasks", new TaskWebSocketEvent("UPDATED", "a"), UUID.randomUUID());
+        broadcaster.send("/topic/tasks", new TaskWebSocketEvent("DELETED", "b"), UUID.randomUUID());
+        broadcaster.send("/topic/tasks/DONE", new TaskWebSocketEvent("DELETED", "b"), UUID.randomUUID());
+
+        broadcaster.flush();
+
+        TaskWebSocketEvent frame = frameSentTo("/topic/tasks");
+        assertEquals(TaskEventBroadcaster.BATCH_EVENT, frame.getEventType());
+        assertEquals(List.of("a", "b"), dataOf(frame));
+        assertEquals("b", frameSentTo("/topic/tasks/DONE").getData());
+        assertEquals(1.0, meterRegistry.counter("kanban.websocket.frames.saved").count());
+        assertEquals(2L, meterRegistry.timer("kanban.websocket.batch.delay").count());
+    }
+
+    @Test
+    void sendBulk_betweenUpdates_shouldKeepOrder() {
+        UUID id = UUID.randomUUID();
+        broadcaster.send("/topic/tasks", new TaskWebSocketEvent("UPDATED", "v1"), id);
+        broadcaster.sendBulk("/topic/tasks", new TaskWebSocketEvent("BULK_UPDATED", "v2"), List.of(id));
+        broadcaster.send("/topic/tasks", new TaskWebSocketEvent("UPDATED", "v3"), id);
+
+        broadcaster.flush();
+
+        assertEquals(List.of("v1", "v2", "v3"), dataOf(frameSentTo("/topic/tasks")));
+        assertEquals(0.0, meterRegistry.counter("kanban.websocket.events.coalesced").count());
+    }
+
+    @Test
+    void send_withoutWindow_shouldSendImmediately() {
+        TaskEventBroadcaster immediate = new TaskEventBroadcaster(history, Duration.ZERO, meterRegistry);
+        try {
+            immediate.send("/topic/tasks", new TaskWebSocketEvent("UPDATED", "v1"), UUID.randomUUID());
+
+            assertEquals("v1", frameSentTo("/topic/tasks").getData());
+        } finally {
+            immediate.shutdown();
+        }
+    }
+
+    @Test
+    void send_afterWindow_shouldFlushOnScheduler() {
+        TaskEventBroadcaster scheduled = new TaskEventBroadcaster(history, Duration.ofMillis(10), meterRegistry);
+        try {
+            scheduled.send("/topic/tasks", new TaskWebSocketEvent("UPDATED", "v1"), UUID.randomUUID());
+
+            verify(messagingTemplate, timeout(1000)).convertAndSend(eq("/topic/tasks"), any(TaskWebSocketEvent.class));
+        } finally {
+            scheduled.shutdown();
+        }
+    }
+
+    private TaskWebSocketEvent frameSentTo(String destination) {
+        ArgumentCaptor<TaskWebSocketEvent> frame = ArgumentCaptor.forClass(TaskWebSocketEvent.class);
+        verify(messagingTemplate).convertAndSend(eq(destination), frame.capture());
+        return frame.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> dataOf(TaskWebSocketEvent batch) {
+        return ((List<TaskWebSocketEvent>) batch.getData()).stream().map(TaskWebSocketEvent::getData).toList();
+    }
+}
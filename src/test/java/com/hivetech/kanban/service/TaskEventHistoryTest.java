@@ -0,0 +1,292 @@
+package com.hivetech.kanban.service;
+
+import com.hivetech.kanban.config.WebSocketProperties;
+import com.hivetech.kanban.dto.TaskWebSocketEvent;
+import com.hivetech.kanban.interceptor.TaskEventReplayInterceptor;
+import org.apache.commons.logging.LogFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.SimpleMessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.OrderedMessageChannelDecorator;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TaskEventHistoryTest {
+    private static final String DESTINATION = "/topic/tasks";
+
+    @Mock private SimpMessagingTemplate messagingTemplate;
+    @Mock private MessageChannel clientOutboundChannel;
+    private TaskEventHistory history;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        // passes the frame through as the payload, so the replayed frames can be inspected
+        when(messagingTemplate.getMessageConverter()).thenReturn(new SimpleMessageConverter());
+        WebSocketProperties properties = new WebSocketProperties();
+        properties.setReplayCapacity(3);
+        history = new TaskEventHistory(messagingTemplate, clientOutboundChannel, properties);
+    }
+
+    @Test
+    void publish_shouldStampConsecutiveTokensPerDestination() {
+        TaskWebSocketEvent frame = new TaskWebSocketEvent("UPDATED", "a");
+
+        String first = publish("a");
+        String second = publish("b");
+        history.publish("/topic/tasks/DONE", frame);
+
+        assertTrue(first.endsWith("-1"));
+        assertTrue(second.endsWith("-2"));
+        assertEquals(first.substring(0, first.lastIndexOf('-')), second.substring(0, second.lastIndexOf('-')));
+        assertNull(frame.getResumeToken());
+    }
+
+    @Test
+    void replay_shouldSendFramesAfterTokenToSubscriptionAsOneBatch() {
+        String token = publish("a");
+        publish("b");
+        String last = publish("c");
+
+        history.lockForReplay(DESTINATION);
+        history.replay(DESTINATION, "session-1", "sub-0", token);
+
+        Message<?> replayed = replayedMessages(1).getFirst();
+        TaskWebSocketEvent batch = (TaskWebSocketEvent) replayed.getPayload();
+        assertEquals(TaskEventBroadcaster.BATCH_EVENT, batch.getEventType());
+        assertEquals(last, batch.getResumeToken());
+        assertEquals(List.of("b", "c"), eventData(batch));
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.wrap(replayed);
+        assertEquals("session-1", headers.getSessionId());
+        assertEquals("sub-0", headers.getSubscriptionId());
+        assertEquals(DESTINATION, headers.getDestination());
+    }
+
+    @Test
+    void replay_missedBatches_shouldBeFlattenedInOrder() {
+        String token = publish("a");
+        history.publish(DESTINATION, new TaskWebSocketEvent(TaskEventBroadcaster.BATCH_EVENT,
+                List.of(new TaskWebSocketEvent("UPDATED", "b"), new TaskWebSocketEvent("DELETED", "c"))));
+        publish("d");
+
+        history.replay(DESTINATION, "session-1", "sub-0", token);
+
+        TaskWebSocketEvent batch = (TaskWebSocketEvent) replayedMessages(1).getFirst().getPayload();
+        assertEquals(List.of("b", "c", "d"), eventData(batch));
+    }
+
+    @Test
+    void replay_whileLivePublishing_shouldDeliverEveryFrameOnceAndInOrder() throws Exception {
+        WebSocketProperties properties = new WebSocketProperties();
+        properties.setReplayCapacity(1000);
+        ExecutorService outboundPool = Executors.newFixedThreadPool(4);
+        try {
+            // the client outbound channel as the broker configures it: a pool, with live frames sent through a
+            // per-session decorator that keeps them in order
+            ExecutorSubscribableChannel outbound = new ExecutorSubscribableChannel(outboundPool);
+            OrderedMessageChannelDecorator.configureInterceptor(outbound, true);
+            history = new TaskEventHistory(messagingTemplate, outbound, properties);
+            outbound.addInterceptor(new TaskEventReplayInterceptor(history));
+            MessageChannel session = new OrderedMessageChannelDecorator(outbound, LogFactory.getLog(getClass()));
+            List<Object> received = Collections.synchronizedList(new ArrayList<>());
+            outbound.subscribe(message -> {
+                // handling takes a varying time, so frames sent concurrently would overtake each other
+                LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(200_000));
+                TaskWebSocketEvent frame = (TaskWebSocketEvent) message.getPayload();
+                if (TaskEventBroadcaster.BATCH_EVENT.equals(frame.getEventType())) {
+                    received.addAll(eventData(frame));
+                } else {
+                    received.add(frame.getData());
+                }
+            });
+            AtomicBoolean subscribed = new AtomicBoolean();
+            AtomicReference<String> firstToken = new AtomicReference<>();
+            doAnswer(invocation -> {
+                TaskWebSocketEvent frame = invocation.getArgument(1);
+                firstToken.compareAndSet(null, frame.getResumeToken());
+                if (subscribed.get()) {
+                    SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+                    accessor.setSessionId("session-1");
+                    accessor.setSubscriptionId("sub-0");
+                    accessor.setLeaveMutable(true);
+                    session.send(MessageBuilder.createMessage(frame, accessor.getMessageHeaders()));
+                }
+                return null;
+            }).when(messagingTemplate).convertAndSend(eq(DESTINATION), any(Object.class));
+
+            for (int i = 0; i < 5; i++) {
+                history.publish(DESTINATION, new TaskWebSocketEvent("UPDATED", i));
+            }
+            String token = firstToken.get();
+            int liveFrames = 200;
+            AtomicInteger published = new AtomicInteger(5);
+            CompletableFuture<Void> publisher = CompletableFuture.runAsync(() -> {
+                for (int i = 5; i < 5 + liveFrames; i++) {
+                    history.publish(DESTINATION, new TaskWebSocketEvent("UPDATED", i));
+                    published.set(i + 1);
+                }
+            });
+            while (published.get() < 20) {
+                Thread.onSpinWait();
+            }
+
+            history.lockForReplay(DESTINATION);
+            subscribed.set(true);
+            history.replay(DESTINATION, "session-1", "sub-0", token);
+            publisher.get(5, TimeUnit.SECONDS);
+
+            List<Object> expected = IntStream.range(1, 5 + liveFrames).boxed().collect(Collectors.toList());
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (received.size() < expected.size() && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(expected, received);
+        } finally {
+            outboundPool.shutdownNow();
+        }
+    }
+
+    @Test
+    void replay_unhandledFrame_shouldNotBlockPublishingAndHoldBackOnlyThatSubscription() throws Exception {
+        when(clientOutboundChannel.send(any())).thenReturn(true);
+        String token = publish("a");
+        publish("b");
+
+        history.lockForReplay(DESTINATION);
+        history.replay(DESTINATION, "session-1", "sub-0", token);
+        // the replayed frame is not handled yet, but publishing goes on
+        CompletableFuture.runAsync(() -> publish("c")).get(1, TimeUnit.SECONDS);
+
+        Message<?> replayed = replayedMessages(1).getFirst();
+        Message<?> liveForSubscription = brokerMessage("session-1", "sub-0", "c");
+        Message<?> liveForOther = brokerMessage("session-2", "sub-0", "c");
+        assertNull(history.holdBehindReplay(liveForSubscription));
+        assertSame(liveForOther, history.holdBehindReplay(liveForOther));
+
+        history.replayHandled(replayed);
+
+        Message<?> released = replayedMessages(2).getLast();
+        assertEquals("c", released.getPayload());
+        assertNotNull(released.getHeaders().get(TaskEventHistory.REPLAY_HEADER));
+
+        history.replayHandled(released);
+
+        Message<?> later = brokerMessage("session-1", "sub-0", "d");
+        assertSame(later, history.holdBehindReplay(later));
+        verify(clientOutboundChannel, times(2)).send(any());
+    }
+
+    @Test
+    void replay_frameNotTaken_shouldStopHoldingBack() {
+        String token = publish("a");
+        publish("b");
+
+        history.replay(DESTINATION, "session-1", "sub-0", token);
+
+        Message<?> live = brokerMessage("session-1", "sub-0", "c");
+        assertSame(live, history.holdBehindReplay(live));
+    }
+
+    @Test
+    void replay_latestToken_shouldSendNothing() {
+        String token = publish("a");
+
+        history.replay(DESTINATION, "session-1", "sub-0", token);
+
+        verifyNoInteractions(clientOutboundChannel);
+    }
+
+    @Test
+    void replay_evictedToken_shouldAskForResync() {
+        String token = publish("a");
+        publish("b");
+        publish("c");
+        publish("d");
+        publish("e");
+
+        history.replay(DESTINATION, "session-1", "sub-0", token);
+
+        TaskWebSocketEvent resync = (TaskWebSocketEvent) replayedMessages(1).getFirst().getPayload();
+        assertEquals(TaskEventHistory.RESYNC_EVENT, resync.getEventType());
+        assertTrue(resync.getResumeToken().endsWith("-5"));
+    }
+
+    @Test
+    void replay_tokenOfPreviousRun_shouldAskForResync() {
+        publish("a");
+
+        history.replay(DESTINATION, "session-1", "0-1", "0-1");
+        history.replay(DESTINATION, "session-1", "sub-0", "garbage");
+
+        List<Message<?>> replayed = replayedMessages(2);
+        replayed.forEach(message -> assertEquals(TaskEventHistory.RESYNC_EVENT, ((TaskWebSocketEvent) message.getPayload()).getEventType()));
+    }
+
+    @Test
+    void lockForReplay_shouldHoldBackPublishingUntilReplayed() throws Exception {
+        String token = publish("a");
+
+        history.lockForReplay(DESTINATION);
+        CompletableFuture<String> concurrent = CompletableFuture.supplyAsync(() -> publish("b"));
+        assertThrows(TimeoutException.class, () -> concurrent.get(100, TimeUnit.MILLISECONDS));
+
+        history.replay(DESTINATION, "session-1", "sub-0", token);
+
+        assertTrue(concurrent.get(1, TimeUnit.SECONDS).endsWith("-2"));
+        verifyNoInteractions(clientOutboundChannel);
+    }
+
+    private String publish(String data) {
+        history.publish(DESTINATION, new TaskWebSocketEvent("UPDATED", data));
+        ArgumentCaptor<TaskWebSocketEvent> sent = ArgumentCaptor.forClass(TaskWebSocketEvent.class);
+        verify(messagingTemplate, atLeastOnce()).convertAndSend(eq(DESTINATION), sent.capture());
+        return sent.getValue().getResumeToken();
+    }
+
+    private static Message<?> brokerMessage(String sessionId, String subscriptionId, Object payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(DESTINATION);
+        return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+    }
+
+    private static List<Object> eventData(TaskWebSocketEvent batch) {
+        return ((List<?>) batch.getData()).stream().map(event -> ((TaskWebSocketEvent) event).getData()).toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Message<?>> replayedMessages(int count) {
+        ArgumentCaptor<Message<?>> messages = ArgumentCaptor.forClass(Message.class);
+        verify(clientOutboundChannel, times(count)).send(messages.capture());
+        return messages.getAllValues();
+    }
+}
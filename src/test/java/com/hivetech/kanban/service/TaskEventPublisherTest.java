@@ -0,0 +1,149 @@
+package com.hivetech.kanban.service;
+
+import com.hivetech.kanban.cluster.LocalClusterEventBus;
+import com.hivetech.kanban.config.WebSocketProperties;
+import com.hivetech.kanban.dto.TaskResponseDTO;
+import com.hivetech.kanban.dto.TaskWebSocketEvent;
+import com.hivetech.kanban.event.TaskChangedEvent;
+import com.hivetech.kanban.model.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TaskEventPublisherTest {
+
+    @Mock private SimpMessagingTemplate messagingTemplate;
+    @Mock private MessageChannel clientOutboundChannel;
+    private TaskEventHistory history;
+    private LocalClusterEventBus clusterEventBus;
+    private TaskEventPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        history = new TaskEventHistory(messagingTemplate, clientOutboundChannel, new WebSocketProperties());
+        clusterEventBus = new LocalClusterEventBus();
+        // without a batch window every event is sent as its own frame
+        publisher = new TaskEventPublisher(new TaskEventBroadcaster(history, Duration.ZERO, new SimpleMeterRegistry()), clusterEventBus);
+    }
+
+    @Test
+    void taskCreated_shouldSendToBoardAndStatusTopic() {
+        TaskResponseDTO task = task(Status.TO_DO);
+
+        publisher.taskCreated(task);
+
+        assertEquals(task, payloadSentTo("/topic/tasks", "CREATED"));
+        assertEquals(task, payloadSentTo("/topic/tasks/TO_DO", "CREATED"));
+        verify(messagingTemplate, times(2)).convertAndSend(anyString(), any(Object.class));
+    }
+
+    @Test
+    void taskUpdated_statusMove_shouldSendToOldAndNewStatusTopic() {
+        TaskResponseDTO task = task(Status.DONE);
+
+        publisher.taskUpdated(Status.IN_PROGRESS, task);
+
+        assertEquals(task, payloadSentTo("/topic/tasks/IN_PROGRESS", "UPDATED"));
+        assertEquals(task, payloadSentTo("/topic/tasks/DONE", "UPDATED"));
+        verify(messagingTemplate, times(3)).convertAndSend(anyString(), any(Object.class));
+    }
+
+    @Test
+    void taskUpdated_sameStatus_shouldSendToStatusTopicOnce() {
+        publisher.taskUpdated(Status.DONE, task(Status.DONE));
+
+        verify(messagingTemplate, times(2)).convertAndSend(anyString(), any(Object.class));
+    }
+
+    @Test
+    void tasksUpdated_shouldSendEachStatusTopicOnlyItsTasks() {
+        TaskResponseDTO moved = task(Status.DONE);
+        TaskResponseDTO unchanged = task(Status.TO_DO);
+
+        publisher.tasksUpdated(Map.of(moved.getId(), Status.IN_PROGRESS, unchanged.getId(), Status.TO_DO),
+                List.of(moved, unchanged));
+
+        assertEquals(List.of(moved, unchanged), payloadSentTo("/topic/tasks", "BULK_UPDATED"));
+        assertEquals(List.of(unchanged), payloadSentTo("/topic/tasks/TO_DO", "BULK_UPDATED"));
+        assertEquals(List.of(moved), payloadSentTo("/topic/tasks/IN_PROGRESS", "BULK_UPDATED"));
+        assertEquals(List.of(moved), payloadSentTo("/topic/tasks/DONE", "BULK_UPDATED"));
+    }
+
+    @Test
+    void tasksDeleted_shouldGroupIdsByStatus() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        Map<UUID, Status> deleted = new LinkedHashMap<>();
+        deleted.put(first, Status.TO_DO);
+        deleted.put(second, Status.DONE);
+
+        publisher.tasksDeleted(deleted);
+
+        assertEquals(List.of(first, second), payloadSentTo("/topic/tasks", "BULK_DELETED"));
+        assertEquals(List.of(first), payloadSentTo("/topic/tasks/TO_DO", "BULK_DELETED"));
+        assertEquals(List.of(second), payloadSentTo("/topic/tasks/DONE", "BULK_DELETED"));
+        verify(messagingTemplate, never()).convertAndSend(eq("/topic/tasks/IN_PROGRESS"), any(Object.class));
+    }
+
+    @Test
+    void onTaskChanged_shouldDispatchByChangeType() {
+        TaskResponseDTO task = task(Status.DONE);
+
+        publisher.onTaskChanged(TaskChangedEvent.updated(Status.TO_DO, task));
+
+        assertEquals(task, payloadSentTo("/topic/tasks/TO_DO", "UPDATED"));
+        assertEquals(task, payloadSentTo("/topic/tasks/DONE", "UPDATED"));
+    }
+
+    @Test
+    void onTaskChanged_bulkDeleted_shouldSendIds() {
+        UUID id = UUID.randomUUID();
+
+        publisher.onTaskChanged(TaskChangedEvent.bulkDeleted(Map.of(id, Status.IN_PROGRESS)));
+
+        assertEquals(List.of(id), payloadSentTo("/topic/tasks", "BULK_DELETED"));
+        assertEquals(List.of(id), payloadSentTo("/topic/tasks/IN_PROGRESS", "BULK_DELETED"));
+    }
+
+    @Test
+    void changeOfOtherInstance_shouldBeBroadcast() {
+        TaskResponseDTO task = task(Status.DONE);
+
+        clusterEventBus.publish(TaskEventPublisher.CLUSTER_TOPIC, TaskChangedEvent.created(task));
+
+        assertEquals(task, payloadSentTo("/topic/tasks", "CREATED"));
+        assertEquals(task, payloadSentTo("/topic/tasks/DONE", "CREATED"));
+    }
+
+    private Object payloadSentTo(String destination, String expectedType) {
+        ArgumentCaptor<TaskWebSocketEvent> event = ArgumentCaptor.forClass(TaskWebSocketEvent.class);
+        verify(messagingTemplate).convertAndSend(eq(destination), event.capture());
+        assertEquals(expectedType, event.getValue().getEventType());
+        return event.getValue().getData();
+    }
+
+    private static TaskResponseDTO task(Status status) {
+        TaskResponseDTO task = new TaskResponseDTO();
+        task.setId(UUID.randomUUID());
+        task.setTitle("Title");
+        task.setStatus(status.name());
+        task.setPriority("LOW");
+        return task;
+    }
+}
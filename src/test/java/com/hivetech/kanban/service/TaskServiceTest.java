@@ -1,20 +1,35 @@
 package com.hivetech.kanban.service;
 
-import com.github.fge.jsonpatch.JsonPatch;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.fge.jsonpatch.JsonPatchException;
+import com.hivetech.kanban.dto.CursorPageDTO;
+import com.hivetech.kanban.dto.SliceDTO;
+import com.hivetech.kanban.dto.TaskBulkUpdateDTO;
 import com.hivetech.kanban.dto.TaskRequestDTO;
 import com.hivetech.kanban.dto.TaskResponseDTO;
+import com.hivetech.kanban.event.TaskChangedEvent;
+import com.hivetech.kanban.exception.PreconditionFailedException;
 import com.hivetech.kanban.exception.ResourceNotFoundException;
 import com.hivetech.kanban.model.Priority;
 import com.hivetech.kanban.model.Status;
 import com.hivetech.kanban.model.Task;
 import com.hivetech.kanban.repository.TaskRepository;
+import com.hivetech.kanban.util.CursorUtil;
 import com.hivetech.kanban.util.TaskDTOMapperUtil;
+import com.hivetech.kanban.util.TaskPatchUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -23,6 +38,10 @@ class TaskServiceTest {
 
     @Mock private TaskRepository taskRepository;
     @Mock private TaskDTOMapperUtil mapper;
+    @Mock private TaskCacheInvalidator taskCacheInvalidator;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Spy private TaskPatchUtil taskPatchUtil = new TaskPatchUtil();
+    @Spy private ObjectMapper objectMapper = new ObjectMapper();
     @InjectMocks private TaskService taskService;
 
     private Task sampleTask;
@@ -50,35 +69,90 @@ class TaskServiceTest {
     }
 
     @Test
-    void getAllTasks_withoutStatus_shouldReturnPageMapped() {
+    void getAllTasks_withoutStatus_shouldReturnProjectedPage() {
         Pageable pageable = PageRequest.of(0, 10);
-        List<Task> tasks = Collections.singletonList(sampleTask);
-        Page<Task> page = new PageImpl<>(tasks, pageable, tasks.size());
+        Page<TaskResponseDTO> page = new PageImpl<>(Collections.singletonList(sampleDto), pageable, 1);
 
-        when(taskRepository.findAll(pageable)).thenReturn(page);
-        when(mapper.toDTO(sampleTask)).thenReturn(sampleDto);
+        when(taskRepository.findAllTaskDTOs(pageable)).thenReturn(page);
 
         Page<TaskResponseDTO> result = taskService.getAllTasks(null, pageable);
 
         assertEquals(1, result.getTotalElements());
         assertEquals(sampleDto, result.getContent().get(0));
-        verify(taskRepository).findAll(pageable);
+        verify(taskRepository).findAllTaskDTOs(pageable);
+        verifyNoInteractions(mapper);
     }
 
     @Test
     void getAllTasks_withStatus_shouldReturnFilteredPage() {
         Pageable pageable = PageRequest.of(0, 5);
-        List<Task> tasks = Collections.singletonList(sampleTask);
-        Page<Task> page = new PageImpl<>(tasks, pageable, tasks.size());
+        Page<TaskResponseDTO> page = new PageImpl<>(Collections.singletonList(sampleDto), pageable, 1);
 
-        when(taskRepository.findByStatus(Status.TO_DO, pageable)).thenReturn(page);
-        when(mapper.toDTO(sampleTask)).thenReturn(sampleDto);
+        when(taskRepository.findTaskDTOsByStatus(Status.TO_DO, pageable)).thenReturn(page);
 
         Page<TaskResponseDTO> result = taskService.getAllTasks(Status.TO_DO, pageable);
 
         assertEquals(1, result.getTotalElements());
         assertEquals(sampleDto, result.getContent().get(0));
-        verify(taskRepository).findByStatus(Status.TO_DO, pageable);
+        verify(taskRepository).findTaskDTOsByStatus(Status.TO_DO, pageable);
+    }
+
+    @Test
+    void getTaskSlice_shouldSkipCountAndReportHasNext() {
+        Pageable pageable = PageRequest.of(0, 1);
+        Slice<TaskResponseDTO> slice = new SliceImpl<>(Collections.singletonList(sampleDto), pageable, true);
+
+        when(taskRepository.findTaskDTOSliceByStatus(Status.TO_DO, pageable)).thenReturn(slice);
+
+        SliceDTO<TaskResponseDTO> result = taskService.getTaskSlice(Status.TO_DO, pageable);
+
+        assertEquals(List.of(sampleDto), result.getContent());
+        assertTrue(result.isHasNext());
+        verify(taskRepository, never()).findTaskDTOsByStatus(any(), any());
+        verify(taskRepository, never()).countByStatus(any());
+    }
+
+    @Test
+    void getTasksAfter_firstPage_shouldReturnNextCursor() {
+        Window<Task> window = Window.from(List.of(sampleTask), ScrollPosition::offset, true);
+        when(taskRepository.findAllByOrderByIdAsc(ScrollPosition.keyset(), Limit.of(1))).thenReturn(window);
+        when(mapper.toDTO(sampleTask)).thenReturn(sampleDto);
+
+        CursorPageDTO<TaskResponseDTO> result = taskService.getTasksAfter(null, null, 1);
+
+        assertEquals(List.of(sampleDto), result.getContent());
+        assertTrue(result.isHasNext());
+        assertEquals(sampleTask.getId(), CursorUtil.decode(result.getNextCursor()));
+    }
+
+    @Test
+    void getTasksAfter_withCursor_shouldSeekAfterId() {
+        UUID after = UUID.randomUUID();
+        ScrollPosition position = ScrollPosition.forward(Map.of("id", after));
+        Window<Task> window = Window.from(List.of(sampleTask), ScrollPosition::offset, false);
+        when(taskRepository.findByStatusOrderByIdAsc(Status.TO_DO, position, Limit.of(10))).thenReturn(window);
+        when(mapper.toDTO(sampleTask)).thenReturn(sampleDto);
+
+        CursorPageDTO<TaskResponseDTO> result = taskService.getTasksAfter(Status.TO_DO, CursorUtil.encode(after), 10);
+
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+        verify(taskRepository).findByStatusOrderByIdAsc(Status.TO_DO, position, Limit.of(10));
+    }
+
+    @Test
+    void exportTasks_shouldWriteOneJsonObjectPerLine() throws Exception {
+        TaskResponseDTO secondDto = new TaskResponseDTO(UUID.randomUUID(), "Second", null, "DONE", "HIGH", 0);
+        when(taskRepository.streamAllTaskDTOs()).thenReturn(Stream.of(sampleDto, secondDto));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        taskService.exportTasks(null, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertEquals(3, lines.length);
+        assertEquals(sampleDto.getId(), objectMapper.readValue(lines[0], TaskResponseDTO.class).getId());
+        assertEquals("Second", objectMapper.readValue(lines[1], TaskResponseDTO.class).getTitle());
+        assertEquals("", lines[2]);
     }
 
     @Test
@@ -124,49 +198,301 @@ class TaskServiceTest {
 
         assertEquals(sampleDto, result);
         verify(taskRepository).save(any(Task.class));
+        verify(taskCacheInvalidator).evict(toSave.getId(), null, Status.TO_DO);
+        TaskChangedEvent event = publishedEvent();
+        assertEquals(TaskChangedEvent.ChangeType.CREATED, event.getChangeType());
+        assertEquals(List.of(sampleDto), event.getTasks());
     }
 
     @Test
-    void updateTask_existingId_shouldSaveAndReturnDto() {
+    void updateTask_existingId_shouldUpdateWithOneStatementAndPublish() {
         UUID id = sampleTask.getId();
-        TaskRequestDTO request = new TaskRequestDTO();
-        request.setTitle("Upd");
-        request.setDescription("UpdDesc");
-        request.setStatus("IN_PROGRESS");
-        request.setPriority("HIGH");
+        TaskRequestDTO request = new TaskRequestDTO("Upd", "UpdDesc", "in_progress", "high", 0);
+        TaskRepository.UpdatedTask updated = updatedTask(id, "Upd", Status.IN_PROGRESS, Priority.HIGH, 2, Status.TO_DO);
+        when(taskRepository.updateTask(id, "Upd", "UpdDesc", "IN_PROGRESS", "HIGH", null)).thenReturn(Optional.of(updated));
+
+        TaskResponseDTO result = taskService.updateTask(id, request, null);
+
+        assertEquals("Upd", result.getTitle());
+        assertEquals("IN_PROGRESS", result.getStatus());
+        assertEquals(2, result.getVersion());
+        verify(taskRepository, never()).findById(any());
+        verify(taskCacheInvalidator).evict(id, Status.TO_DO, Status.IN_PROGRESS);
+        TaskChangedEvent event = publishedEvent();
+        assertEquals(TaskChangedEvent.ChangeType.UPDATED, event.getChangeType());
+        assertEquals(Map.of(id, Status.TO_DO), event.getPreviousStatuses());
+    }
 
-        when(taskRepository.findById(id)).thenReturn(Optional.of(sampleTask));
-        when(taskRepository.save(any(Task.class))).thenReturn(sampleTask);
-        when(mapper.toDTO(any(Task.class))).thenReturn(sampleDto);
+    @Test
+    void updateTask_nonExistingId_shouldThrow() {
+        UUID id = UUID.randomUUID();
+        TaskRequestDTO request = new TaskRequestDTO("Upd", "UpdDesc", "DONE", "HIGH", 0);
+        when(taskRepository.updateTask(id, "Upd", "UpdDesc", "DONE", "HIGH", null)).thenReturn(Optional.empty());
 
-        TaskResponseDTO result = taskService.updateTask(id, request);
+        assertThrows(ResourceNotFoundException.class, () -> taskService.updateTask(id, request, null));
+        verify(taskRepository, never()).existsById(any());
+    }
 
-        assertEquals(sampleDto, result);
-        verify(taskRepository).save(sampleTask);
+    @Test
+    void updateTask_staleVersion_shouldThrowWithoutPublishing() {
+        UUID id = sampleTask.getId();
+        TaskRequestDTO request = new TaskRequestDTO("Upd", "UpdDesc", "DONE", "HIGH", 0);
+        when(taskRepository.updateTask(id, "Upd", "UpdDesc", "DONE", "HIGH", 0)).thenReturn(Optional.empty());
+        when(taskRepository.existsById(id)).thenReturn(true);
+
+        assertThrows(PreconditionFailedException.class, () -> taskService.updateTask(id, request, 0));
+
+        verifyNoInteractions(taskCacheInvalidator, eventPublisher);
     }
 
     @Test
-    void updateTask_nonExistingId_shouldThrow() {
+    void deleteTask_staleVersion_shouldThrowWithoutPublishing() {
+        UUID id = sampleTask.getId();
+        when(taskRepository.deleteTask(id, 2)).thenReturn(Optional.empty());
+        when(taskRepository.existsById(id)).thenReturn(true);
+
+        assertThrows(PreconditionFailedException.class, () -> taskService.deleteTask(id, 2));
+
+        verifyNoInteractions(taskCacheInvalidator, eventPublisher);
+    }
+
+    @Test
+    void deleteTask_nonExistingIdWithExpectedVersion_shouldThrow() {
         UUID id = UUID.randomUUID();
-        TaskRequestDTO request = new TaskRequestDTO();
-        when(taskRepository.findById(id)).thenReturn(Optional.empty());
+        when(taskRepository.deleteTask(id, 1)).thenReturn(Optional.empty());
+
+        assertThrows(PreconditionFailedException.class, () -> taskService.deleteTask(id, 1));
+    }
+
+    @Test
+    void moveTask_shouldUpdateWithOneStatementAndPublish() {
+        UUID id = sampleTask.getId();
+        TaskRepository.UpdatedTask moved = updatedTask(id, "Title", Status.DONE, Priority.LOW, 2, Status.TO_DO);
+        when(taskRepository.moveTask(id, "DONE", 1)).thenReturn(Optional.of(moved));
+
+        TaskResponseDTO result = taskService.moveTask(id, Status.DONE, 1);
+
+        assertEquals("DONE", result.getStatus());
+        assertEquals(2, result.getVersion());
+        verify(taskRepository, never()).findById(any());
+        verify(taskCacheInvalidator).evict(id, Status.TO_DO, Status.DONE);
+        TaskChangedEvent event = publishedEvent();
+        assertEquals(TaskChangedEvent.ChangeType.UPDATED, event.getChangeType());
+        assertEquals(Map.of(id, Status.TO_DO), event.getPreviousStatuses());
+    }
+
+    @Test
+    void moveTask_staleVersion_shouldThrowPreconditionFailed() {
+        UUID id = sampleTask.getId();
+        when(taskRepository.moveTask(id, "DONE", 0)).thenReturn(Optional.empty());
+        when(taskRepository.existsById(id)).thenReturn(true);
+
+        assertThrows(PreconditionFailedException.class, () -> taskService.moveTask(id, Status.DONE, 0));
+        verifyNoInteractions(taskCacheInvalidator, eventPublisher);
+    }
+
+    @Test
+    void moveTask_nonExistingId_shouldThrowNotFound() {
+        UUID id = UUID.randomUUID();
+        when(taskRepository.moveTask(id, "DONE", null)).thenReturn(Optional.empty());
 
-        assertThrows(ResourceNotFoundException.class, () -> taskService.updateTask(id, request));
+        assertThrows(ResourceNotFoundException.class, () -> taskService.moveTask(id, Status.DONE, null));
+        verify(taskRepository, never()).existsById(any());
     }
 
     @Test
-    void deleteTask_shouldCallRepository() {
+    void deleteTask_shouldDeleteWithOneStatementAndPublish() {
         UUID id = sampleTask.getId();
-        taskService.deleteTask(id);
-        verify(taskRepository).deleteById(id);
+        when(taskRepository.deleteTask(id, null)).thenReturn(Optional.of(Status.TO_DO));
+
+        taskService.deleteTask(id, null);
+
+        verify(taskRepository, never()).findById(any());
+        verify(taskCacheInvalidator).evict(id, Status.TO_DO, null);
+        TaskChangedEvent event = publishedEvent();
+        assertEquals(TaskChangedEvent.ChangeType.DELETED, event.getChangeType());
+        assertEquals(Map.of(id, Status.TO_DO), event.getPreviousStatuses());
+    }
+
+    @Test
+    void deleteTask_nonExistingId_shouldNotEvict() {
+        UUID id = UUID.randomUUID();
+        when(taskRepository.deleteTask(id, null)).thenReturn(Optional.empty());
+
+        taskService.deleteTask(id, null);
+
+        verify(taskRepository, never()).existsById(any());
+        verifyNoInteractions(taskCacheInvalidator, eventPublisher);
+    }
+
+    @Test
+    void createTasks_shouldSaveAllAndEvictOnce() {
+        TaskRequestDTO first = new TaskRequestDTO("First", "Desc", "TO_DO", "LOW", 0);
+        TaskRequestDTO second = new TaskRequestDTO("Second", "Desc", "DONE", "HIGH", 0);
+        when(mapper.toDTO(any(Task.class))).thenReturn(sampleDto);
+
+        List<TaskResponseDTO> result = taskService.createTasks(List.of(first, second));
+
+        assertEquals(2, result.size());
+        verify(taskRepository).saveAll(argThat((List<Task> tasks) -> tasks.size() == 2));
+        verify(taskCacheInvalidator).evict(anyList(), eq(EnumSet.of(Status.TO_DO, Status.DONE)));
+        TaskChangedEvent event = publishedEvent();
+        assertTrue(event.isBulk());
+        assertEquals(result, event.getTasks());
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    void updateTasks_shouldLoadWithOneQueryAndApplyChanges() {
+        TaskBulkUpdateDTO request = new TaskBulkUpdateDTO(sampleTask.getId(), "Upd", "UpdDesc", "DONE", "HIGH", 1);
+        when(taskRepository.findAllById(List.of(sampleTask.getId()))).thenReturn(List.of(sampleTask));
+        when(mapper.toDTO(sampleTask)).thenReturn(sampleDto);
+
+        List<TaskResponseDTO> result = taskService.updateTasks(List.of(request));
+
+        assertEquals(List.of(sampleDto), result);
+        assertEquals("Upd", sampleTask.getTitle());
+        assertEquals(Status.DONE, sampleTask.getStatus());
+        verify(taskRepository).flush();
+        verify(taskCacheInvalidator).evict(Set.of(sampleTask.getId()), EnumSet.of(Status.TO_DO, Status.DONE));
+        TaskChangedEvent event = publishedEvent();
+        assertTrue(event.isBulk());
+        assertEquals(Map.of(sampleTask.getId(), Status.TO_DO), event.getPreviousStatuses());
+    }
+
+    @Test
+    void updateTasks_missingTask_shouldThrow() {
+        TaskBulkUpdateDTO request = new TaskBulkUpdateDTO(UUID.randomUUID(), "Upd", "UpdDesc", "DONE", "HIGH", 1);
+        when(taskRepository.findAllById(anyList())).thenReturn(Collections.emptyList());
+
+        assertThrows(ResourceNotFoundException.class, () -> taskService.updateTasks(List.of(request)));
+        verifyNoInteractions(taskCacheInvalidator, eventPublisher);
+    }
+
+    @Test
+    void updateTasks_staleVersion_shouldThrowWithoutChanges() {
+        TaskBulkUpdateDTO request = new TaskBulkUpdateDTO(sampleTask.getId(), "Upd", "UpdDesc", "DONE", "HIGH", 0);
+        when(taskRepository.findAllById(List.of(sampleTask.getId()))).thenReturn(List.of(sampleTask));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> taskService.updateTasks(List.of(request)));
+        assertEquals("Title", sampleTask.getTitle());
+        verify(taskRepository, never()).flush();
+        verifyNoInteractions(taskCacheInvalidator, eventPublisher);
+    }
+
+    @Test
+    void deleteTasks_shouldDeleteExistingInBatch() {
+        UUID missing = UUID.randomUUID();
+        when(taskRepository.findAllById(List.of(sampleTask.getId(), missing))).thenReturn(List.of(sampleTask));
+
+        List<UUID> deleted = taskService.deleteTasks(List.of(sampleTask.getId(), missing));
+
+        assertEquals(List.of(sampleTask.getId()), deleted);
+        verify(taskRepository).deleteAllByIdInBatch(List.of(sampleTask.getId()));
+        verify(taskCacheInvalidator).evict(List.of(sampleTask.getId()), EnumSet.of(Status.TO_DO));
+        TaskChangedEvent event = publishedEvent();
+        assertEquals(TaskChangedEvent.ChangeType.DELETED, event.getChangeType());
+        assertEquals(Map.of(sampleTask.getId(), Status.TO_DO), event.getPreviousStatuses());
+    }
+
+    @Test
+    void bulkWrites_emptyList_shouldNotEvictOrPublish() {
+        assertEquals(List.of(), taskService.createTasks(List.of()));
+        assertEquals(List.of(), taskService.updateTasks(List.of()));
+        assertEquals(List.of(), taskService.deleteTasks(List.of()));
+
+        verifyNoInteractions(taskRepository, taskCacheInvalidator, eventPublisher);
+    }
+
+    @Test
+    void deleteTasks_noneExisting_shouldNotDeleteEvictOrPublish() {
+        when(taskRepository.findAllById(anyList())).thenReturn(Collections.emptyList());
+
+        assertEquals(List.of(), taskService.deleteTasks(List.of(UUID.randomUUID())));
+
+        verify(taskRepository, never()).deleteAllByIdInBatch(anyList());
+        verifyNoInteractions(taskCacheInvalidator, eventPublisher);
     }
 
     @Test
     void patchTask_nonExistingId_shouldThrow() {
         UUID id = UUID.randomUUID();
-        JsonPatch patch = mock(JsonPatch.class);
+        JsonNode patch = objectMapper.createArrayNode();
         when(taskRepository.findById(id)).thenReturn(Optional.empty());
 
-        assertThrows(ResourceNotFoundException.class, () -> taskService.patchTask(id, patch));
+        assertThrows(ResourceNotFoundException.class, () -> taskService.patchTask(id, patch, null));
+    }
+
+    @Test
+    void patchTask_supportedOperations_shouldUpdateManagedEntityDirectly() throws Exception {
+        UUID id = sampleTask.getId();
+        JsonNode patch = objectMapper.readTree("[{\"op\":\"replace\",\"path\":\"/status\",\"value\":\"DONE\"}]");
+        when(taskRepository.findById(id)).thenReturn(Optional.of(sampleTask));
+        when(taskRepository.saveAndFlush(sampleTask)).thenReturn(sampleTask);
+        when(mapper.toDTO(sampleTask)).thenReturn(sampleDto);
+
+        taskService.patchTask(id, patch, null);
+
+        assertEquals(Status.DONE, sampleTask.getStatus());
+        verify(taskRepository).saveAndFlush(sampleTask);
+        verify(objectMapper, never()).convertValue(any(), eq(JsonNode.class));
+        verify(taskCacheInvalidator).evict(id, Status.TO_DO, Status.DONE);
+    }
+
+    @Test
+    void patchTask_unsupportedOperation_shouldFallBackToGenericPatch() throws Exception {
+        UUID id = sampleTask.getId();
+        JsonNode patch = objectMapper.readTree("[{\"op\":\"copy\",\"from\":\"/title\",\"path\":\"/description\"}]");
+        when(taskRepository.findById(id)).thenReturn(Optional.of(sampleTask));
+        when(taskRepository.saveAndFlush(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(mapper.toDTO(any(Task.class))).thenReturn(sampleDto);
+
+        taskService.patchTask(id, patch, null);
+
+        verify(taskRepository).saveAndFlush(argThat(task -> "Title".equals(task.getDescription())));
+    }
+
+    @Test
+    void patchTask_lowercaseEnumValue_shouldBeRejectedOnBothPaths() throws Exception {
+        UUID id = sampleTask.getId();
+        JsonNode direct = objectMapper.readTree("[{\"op\":\"replace\",\"path\":\"/status\",\"value\":\"done\"}]");
+        JsonNode generic = objectMapper.readTree("[{\"op\":\"replace\",\"path\":\"/status\",\"value\":\"done\"},"
+                + "{\"op\":\"copy\",\"from\":\"/title\",\"path\":\"/description\"}]");
+        when(taskRepository.findById(id)).thenReturn(Optional.of(sampleTask));
+
+        assertThrows(JsonPatchException.class, () -> taskService.patchTask(id, direct, null));
+        assertThrows(JsonProcessingException.class, () -> taskService.patchTask(id, generic, null));
+        verify(taskRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void patchTask_removedStatus_shouldBeRejectedOnBothPaths() throws Exception {
+        UUID id = sampleTask.getId();
+        JsonNode direct = objectMapper.readTree("[{\"op\":\"remove\",\"path\":\"/status\"}]");
+        JsonNode generic = objectMapper.readTree("[{\"op\":\"remove\",\"path\":\"/status\"},"
+                + "{\"op\":\"copy\",\"from\":\"/title\",\"path\":\"/description\"}]");
+        when(taskRepository.findById(id)).thenReturn(Optional.of(sampleTask));
+
+        assertThrows(JsonPatchException.class, () -> taskService.patchTask(id, direct, null));
+        assertThrows(JsonPatchException.class, () -> taskService.patchTask(id, generic, null));
+        verify(taskRepository, never()).saveAndFlush(any());
+    }
+
+    private TaskChangedEvent publishedEvent() {
+        ArgumentCaptor<TaskChangedEvent> event = ArgumentCaptor.forClass(TaskChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        return event.getValue();
+    }
+
+    private static TaskRepository.UpdatedTask updatedTask(UUID id, String title, Status status, Priority priority,
+                                                          int version, Status previousStatus) {
+        TaskRepository.UpdatedTask updated = mock(TaskRepository.UpdatedTask.class);
+        when(updated.getId()).thenReturn(id);
+        when(updated.getTitle()).thenReturn(title);
+        when(updated.getStatus()).thenReturn(status);
+        when(updated.getPriority()).thenReturn(priority);
+        when(updated.getVersion()).thenReturn(version);
+        when(updated.getPreviousStatus()).thenReturn(previousStatus);
+        return updated;
     }
 }
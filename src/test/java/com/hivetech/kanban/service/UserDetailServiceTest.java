@@ -0,0 +1,85 @@
+package com.hivetech.kanban.service;
+
+import com.hivetech.kanban.cluster.LocalClusterEventBus;
+import com.hivetech.kanban.config.CacheConfig;
+import com.hivetech.kanban.event.UserChangedEvent;
+import com.hivetech.kanban.model.User;
+import com.hivetech.kanban.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserDetailServiceTest {
+
+    private static final String EMAIL = "test@example.com";
+
+    @Mock private UserRepository userRepository;
+
+    private LocalClusterEventBus clusterEventBus;
+    private UserDetailService userDetailService;
+    private User sampleUser;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        clusterEventBus = new LocalClusterEventBus();
+        userDetailService = new UserDetailService(userRepository, new ConcurrentMapCacheManager(CacheConfig.USER_DETAILS_CACHE),
+                clusterEventBus);
+        sampleUser = new User("TestFirstName", "TestLastName", EMAIL, "encoded");
+        sampleUser.setId(UUID.randomUUID());
+    }
+
+    @Test
+    void loadUserByUsername_repeatedLookup_shouldQueryOnceAndReturnCopies() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(sampleUser);
+
+        UserDetails first = userDetailService.loadUserByUsername(EMAIL);
+        UserDetails second = userDetailService.loadUserByUsername(EMAIL);
+
+        assertEquals(EMAIL, second.getUsername());
+        assertEquals("encoded", second.getPassword());
+        assertNotSame(first, second);
+        verify(userRepository, times(1)).findByEmail(EMAIL);
+    }
+
+    @Test
+    void loadUserByUsername_afterUserChanged_shouldReload() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(sampleUser);
+        userDetailService.loadUserByUsername(EMAIL);
+
+        userDetailService.onUserChanged(new UserChangedEvent(sampleUser.getId(), EMAIL));
+        userDetailService.loadUserByUsername(EMAIL);
+
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+    }
+
+    @Test
+    void loadUserByUsername_afterUserChangedOnOtherInstance_shouldReload() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(sampleUser);
+        userDetailService.loadUserByUsername(EMAIL);
+
+        // what the cluster event bus delivers for a change published on another instance
+        clusterEventBus.publish(UserEventPublisher.CLUSTER_TOPIC, new UserChangedEvent(sampleUser.getId(), EMAIL));
+        userDetailService.loadUserByUsername(EMAIL);
+
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+    }
+
+    @Test
+    void loadUserByUsername_unknownUser_shouldThrowAndNotCache() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(null);
+
+        assertThrows(UsernameNotFoundException.class, () -> userDetailService.loadUserByUsername(EMAIL));
+        assertThrows(UsernameNotFoundException.class, () -> userDetailService.loadUserByUsername(EMAIL));
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+    }
+}
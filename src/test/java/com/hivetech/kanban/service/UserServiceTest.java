@@ -4,32 +4,36 @@ import com.hivetech.kanban.dto.AuthResponseDTO;
 import com.hivetech.kanban.dto.LoginRequestDTO;
 import com.hivetech.kanban.dto.RegisterRequestDTO;
 import com.hivetech.kanban.dto.UserResponseDTO;
+import com.hivetech.kanban.event.UserChangedEvent;
 import com.hivetech.kanban.model.User;
 import com.hivetech.kanban.repository.UserRepository;
 import com.hivetech.kanban.util.JwtUtil;
 import com.hivetech.kanban.util.UserDTOMapperUtil;
 import jakarta.persistence.EntityExistsException;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.sql.SQLException;
+
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 class UserServiceTest {
 
-    @Mock private AuthenticationManager authenticationManager;
     @Mock private UserRepository userRepository;
     @Mock private PasswordEncoder passwordEncoder;
     @Mock private JwtUtil jwtUtil;
     @Mock private UserDTOMapperUtil mapper;
-    @Spy @InjectMocks private UserService userService;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @InjectMocks private UserService userService;
 
     private User sampleUser;
     private LoginRequestDTO loginRequest;
@@ -58,19 +62,9 @@ class UserServiceTest {
 
     @Test
     void authenticateUser_validCredentials_shouldReturnAuthResponse() {
-        UserDetails userDetails = org.springframework.security.core.userdetails.User
-                .withUsername("test@example.com")
-                .password("encoded")
-                .authorities(java.util.Collections.emptyList())
-                .build();
-
-        Authentication authMock = mock(Authentication.class);
-        when(authMock.getPrincipal()).thenReturn(userDetails);
-        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-                .thenReturn(authMock);
-
-        when(jwtUtil.generateToken("test@example.com")).thenReturn("jwt-token");
         when(userRepository.findByEmail("test@example.com")).thenReturn(sampleUser);
+        when(passwordEncoder.matches("plaintext", "encoded")).thenReturn(true);
+        when(jwtUtil.generateToken("test@example.com", sampleUser.getId(), 0)).thenReturn("jwt-token");
 
         UserResponseDTO userDto = new UserResponseDTO();
         userDto.setEmail("test@example.com");
@@ -81,31 +75,89 @@ class UserServiceTest {
         assertNotNull(response);
         assertEquals("jwt-token", response.getToken());
         assertEquals("test@example.com", response.getUser().getEmail());
-        verify(authenticationManager).authenticate(any());
-        verify(jwtUtil).generateToken("test@example.com");
+        verify(userRepository, times(1)).findByEmail("test@example.com");
+        verify(jwtUtil).generateToken("test@example.com", sampleUser.getId(), 0);
+        verify(userRepository, never()).save(any());
     }
 
     @Test
-    void registerUser_newEmail_shouldSaveAndAuthenticate() {
-        when(userRepository.existsByEmail("test@example.com")).thenReturn(false);
-        when(passwordEncoder.encode("plaintext")).thenReturn("encoded");
+    void authenticateUser_wrongPassword_shouldThrowBadCredentials() {
+        when(userRepository.findByEmail("test@example.com")).thenReturn(sampleUser);
+        when(passwordEncoder.matches("plaintext", "encoded")).thenReturn(false);
+
+        assertThrows(BadCredentialsException.class, () -> userService.authenticateUser(loginRequest));
+        verifyNoInteractions(jwtUtil);
+    }
+
+    @Test
+    void authenticateUser_unknownEmail_shouldStillHashAndThrowBadCredentials() {
+        when(userRepository.findByEmail("test@example.com")).thenReturn(null);
+        when(passwordEncoder.encode(anyString())).thenReturn("dummy");
 
-        doReturn(new AuthResponseDTO(null, "jwt-token")).when(userService).authenticateUser(any(LoginRequestDTO.class));
-        when(userRepository.save(any(User.class))).thenReturn(sampleUser);
+        assertThrows(BadCredentialsException.class, () -> userService.authenticateUser(loginRequest));
+        verify(passwordEncoder).matches("plaintext", "dummy");
+    }
+
+    @Test
+    void authenticateUser_weakerStoredHash_shouldRehash() {
+        when(userRepository.findByEmail("test@example.com")).thenReturn(sampleUser);
+        when(passwordEncoder.matches("plaintext", "encoded")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("encoded")).thenReturn(true);
+        when(passwordEncoder.encode("plaintext")).thenReturn("rehashed");
+
+        userService.authenticateUser(loginRequest);
+
+        assertEquals("rehashed", sampleUser.getPassword());
+        verify(userRepository).save(sampleUser);
+        verify(eventPublisher).publishEvent(any(UserChangedEvent.class));
+    }
+
+    @Test
+    void registerUser_newEmail_shouldSaveAndIssueToken() {
+        when(passwordEncoder.encode("plaintext")).thenReturn("encoded");
+        when(jwtUtil.generateToken(eq("test@example.com"), any(), eq(0))).thenReturn("jwt-token");
 
         AuthResponseDTO response = userService.registerUser(registerRequest);
 
         assertNotNull(response);
         assertEquals("jwt-token", response.getToken());
-        verify(userRepository).existsByEmail("test@example.com");
-        verify(passwordEncoder).encode("plaintext");
-        verify(userRepository).save(any(User.class));
+        verify(passwordEncoder, times(1)).encode("plaintext");
+        verify(passwordEncoder, never()).matches(any(), any());
+        verify(userRepository).saveAndFlush(any(User.class));
+        verify(userRepository, never()).findByEmail(any());
+        verify(userRepository, never()).existsByEmail(any());
+        verify(eventPublisher).publishEvent(any(UserChangedEvent.class));
     }
 
     @Test
     void registerUser_existingEmail_shouldThrowEntityExists() {
-        when(userRepository.existsByEmail("test@example.com")).thenReturn(true);
+        when(passwordEncoder.encode("plaintext")).thenReturn("encoded");
+        ConstraintViolationException violation = new ConstraintViolationException(
+                "duplicate key", new SQLException("duplicate key"), "uq_user_email");
+        when(userRepository.saveAndFlush(any(User.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key", violation));
+
         assertThrows(EntityExistsException.class, () -> userService.registerUser(registerRequest));
-        verify(userRepository).existsByEmail("test@example.com");
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void revokeTokens_existingUser_shouldIncrementTokenVersion() {
+        when(userRepository.findByEmail("test@example.com")).thenReturn(sampleUser);
+
+        userService.revokeTokens("test@example.com");
+
+        assertEquals(1, sampleUser.getTokenVersion());
+        verify(userRepository).save(sampleUser);
+        verify(eventPublisher).publishEvent(argThat((Object event) ->
+                event instanceof UserChangedEvent changed && sampleUser.getId().equals(changed.getUserId())));
+    }
+
+    @Test
+    void revokeTokens_unknownUser_shouldThrow() {
+        when(userRepository.findByEmail("test@example.com")).thenReturn(null);
+
+        assertThrows(UsernameNotFoundException.class, () -> userService.revokeTokens("test@example.com"));
+        verify(eventPublisher, never()).publishEvent(any());
     }
 }
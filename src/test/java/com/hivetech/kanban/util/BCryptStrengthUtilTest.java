@@ -0,0 +1,27 @@
+package com.hivetech.kanban.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BCryptStrengthUtilTest {
+
+    @Test
+    void strengthFor_shouldAddOneRoundPerDoublingThatFitsTarget() {
+        long measured = Duration.ofMillis(60).toNanos();
+
+        assertEquals(12, BCryptStrengthUtil.strengthFor(Duration.ofMillis(250).toNanos(), measured));
+        assertEquals(12, BCryptStrengthUtil.strengthFor(Duration.ofMillis(240).toNanos(), measured));
+        assertEquals(11, BCryptStrengthUtil.strengthFor(Duration.ofMillis(239).toNanos(), measured));
+    }
+
+    @Test
+    void strengthFor_shouldStayWithinBounds() {
+        assertEquals(BCryptStrengthUtil.MIN_STRENGTH,
+                BCryptStrengthUtil.strengthFor(Duration.ofMillis(1).toNanos(), Duration.ofMillis(60).toNanos()));
+        assertEquals(BCryptStrengthUtil.MAX_STRENGTH,
+                BCryptStrengthUtil.strengthFor(Duration.ofMinutes(10).toNanos(), Duration.ofMillis(1).toNanos()));
+    }
+}
@@ -0,0 +1,26 @@
+package com.hivetech.kanban.util;
+
+import com.hivetech.kanban.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorUtilTest {
+
+    @Test
+    void decode_shouldReturnEncodedId() {
+        UUID id = UUID.randomUUID();
+
+        String cursor = CursorUtil.encode(id);
+
+        assertFalse(cursor.contains(id.toString()));
+        assertEquals(id, CursorUtil.decode(cursor));
+    }
+
+    @Test
+    void decode_malformedCursor_shouldThrow() {
+        assertThrows(InvalidCursorException.class, () -> CursorUtil.decode("not-a-cursor"));
+    }
+}
@@ -0,0 +1,77 @@
+package com.hivetech.kanban.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "test-secret-key-that-is-at-least-256-bits-long-for-hmac-sha256-algorithm";
+
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = createJwtUtil(3600000);
+    }
+
+    @Test
+    void verifyToken_validToken_shouldReturnClaims() {
+        String token = jwtUtil.generateToken("test@example.com", USER_ID, 0);
+
+        Claims claims = jwtUtil.verifyToken(token);
+
+        assertEquals("test@example.com", claims.getSubject());
+        assertNotNull(claims.getExpiration());
+        assertEquals(USER_ID.toString(), claims.get(JwtUtil.USER_ID_CLAIM, String.class));
+        assertEquals(0, claims.get(JwtUtil.TOKEN_VERSION_CLAIM, Integer.class));
+        assertTrue(jwtUtil.isTokenValid(token, "test@example.com"));
+        assertFalse(jwtUtil.isTokenValid(token, "other@example.com"));
+    }
+
+    @Test
+    void verifyToken_repeatedToken_shouldBeServedFromCache() {
+        String token = jwtUtil.generateToken("test@example.com", USER_ID, 0);
+
+        Claims first = jwtUtil.verifyToken(token);
+        Claims second = jwtUtil.verifyToken(token);
+
+        assertSame(first, second);
+    }
+
+    @Test
+    void verifyToken_tamperedToken_shouldThrow() {
+        String token = jwtUtil.generateToken("test@example.com", USER_ID, 0);
+        jwtUtil.verifyToken(token);
+
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtUtil.verifyToken(tampered));
+    }
+
+    @Test
+    void verifyToken_expiredToken_shouldThrow() {
+        JwtUtil expiringJwtUtil = createJwtUtil(-1000);
+        String token = expiringJwtUtil.generateToken("test@example.com", USER_ID, 0);
+
+        assertThrows(ExpiredJwtException.class, () -> expiringJwtUtil.verifyToken(token));
+    }
+
+    private static JwtUtil createJwtUtil(long expiration) {
+        JwtUtil util = new JwtUtil();
+        ReflectionTestUtils.setField(util, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(util, "expiration", expiration);
+        ReflectionTestUtils.setField(util, "verifiedCacheMaximumSize", 100L);
+        util.init();
+        return util;
+    }
+}
@@ -0,0 +1,47 @@
+package com.hivetech.kanban.util;
+
+import com.hivetech.kanban.dto.TaskResponseDTO;
+import com.hivetech.kanban.exception.PreconditionFailedException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskETagUtilTest {
+
+    @Test
+    void of_task_shouldQuoteVersion() {
+        assertEquals("\"3\"", TaskETagUtil.of(task(UUID.randomUUID(), 3)));
+    }
+
+    @Test
+    void of_list_shouldChangeWithVersionsAndState() {
+        UUID id = UUID.randomUUID();
+        String etag = TaskETagUtil.of(List.of(task(id, 1)), 10L);
+
+        assertEquals(etag, TaskETagUtil.of(List.of(task(id, 1)), 10L));
+        assertNotEquals(etag, TaskETagUtil.of(List.of(task(id, 2)), 10L));
+        assertNotEquals(etag, TaskETagUtil.of(List.of(task(id, 1)), 11L));
+        assertNotEquals(etag, TaskETagUtil.of(List.of(), 10L));
+    }
+
+    @Test
+    void expectedVersion_shouldReadStrongTag() {
+        assertEquals(7, TaskETagUtil.expectedVersion("\"7\""));
+        assertNull(TaskETagUtil.expectedVersion(null));
+        assertNull(TaskETagUtil.expectedVersion("*"));
+    }
+
+    @Test
+    void expectedVersion_unmatchableTag_shouldThrow() {
+        assertThrows(PreconditionFailedException.class, () -> TaskETagUtil.expectedVersion("W/\"7\""));
+        assertThrows(PreconditionFailedException.class, () -> TaskETagUtil.expectedVersion("\"abc\""));
+        assertThrows(PreconditionFailedException.class, () -> TaskETagUtil.expectedVersion("\"1\", \"2\""));
+    }
+
+    private static TaskResponseDTO task(UUID id, int version) {
+        return new TaskResponseDTO(id, "Title", null, "TO_DO", "LOW", version);
+    }
+}
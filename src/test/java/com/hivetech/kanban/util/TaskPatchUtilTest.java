@@ -0,0 +1,150 @@
+package com.hivetech.kanban.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fge.jsonpatch.JsonPatchException;
+import com.hivetech.kanban.model.Priority;
+import com.hivetech.kanban.model.Status;
+import com.hivetech.kanban.model.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskPatchUtilTest {
+
+    private final TaskPatchUtil patchUtil = new TaskPatchUtil();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        task = new Task("Title", "Desc", Status.TO_DO, Priority.LOW, 3);
+    }
+
+    @Test
+    void tryApply_supportedOperations_shouldUpdateFields() throws Exception {
+        JsonNode patch = objectMapper.readTree("""
+                [
+                  {"op": "test", "path": "/status", "value": "TO_DO"},
+                  {"op": "replace", "path": "/status", "value": "IN_PROGRESS"},
+                  {"op": "add", "path": "/title", "value": "New title"},
+                  {"op": "remove", "path": "/description"}
+                ]
+                """);
+
+        assertTrue(patchUtil.tryApply(patch, task));
+
+        assertEquals(Status.IN_PROGRESS, task.getStatus());
+        assertEquals("New title", task.getTitle());
+        assertNull(task.getDescription());
+        assertEquals(Priority.LOW, task.getPriority());
+        assertEquals(3, task.getVersion());
+    }
+
+    @Test
+    void tryApply_failedTest_shouldLeaveTaskUntouched() throws Exception {
+        JsonNode patch = objectMapper.readTree("""
+                [
+                  {"op": "replace", "path": "/title", "value": "New title"},
+                  {"op": "test", "path": "/priority", "value": "HIGH"}
+                ]
+                """);
+
+        assertThrows(JsonPatchException.class, () -> patchUtil.tryApply(patch, task));
+        assertEquals("Title", task.getTitle());
+    }
+
+    @Test
+    void tryApply_invalidEnumValue_shouldThrow() throws Exception {
+        JsonNode patch = objectMapper.readTree("[{\"op\": \"replace\", \"path\": \"/priority\", \"value\": \"URGENT\"}]");
+
+        assertThrows(JsonPatchException.class, () -> patchUtil.tryApply(patch, task));
+        assertEquals(Priority.LOW, task.getPriority());
+    }
+
+    @Test
+    void tryApply_lowercaseEnumValue_shouldThrow() throws Exception {
+        JsonNode patch = objectMapper.readTree("[{\"op\": \"replace\", \"path\": \"/status\", \"value\": \"done\"}]");
+
+        assertThrows(JsonPatchException.class, () -> patchUtil.tryApply(patch, task));
+        assertEquals(Status.TO_DO, task.getStatus());
+    }
+
+    @Test
+    void validate_removedPriority_shouldThrow() {
+        task.setPriority(null);
+
+        assertThrows(JsonPatchException.class, () -> patchUtil.validate(task));
+    }
+
+    @Test
+    void tryApply_removeRequiredField_shouldThrow() throws Exception {
+        JsonNode patch = objectMapper.readTree("[{\"op\": \"remove\", \"path\": \"/status\"}]");
+
+        assertThrows(JsonPatchException.class, () -> patchUtil.tryApply(patch, task));
+    }
+
+    @Test
+    void tryApply_unsupportedOperation_shouldReturnFalseWithoutChanges() throws Exception {
+        JsonNode patch = objectMapper.readTree("""
+                [
+                  {"op": "replace", "path": "/title", "value": "New title"},
+                  {"op": "move", "from": "/title", "path": "/description"}
+                ]
+                """);
+
+        assertFalse(patchUtil.tryApply(patch, task));
+        assertEquals("Title", task.getTitle());
+    }
+
+    @Test
+    void tryApply_numericTestValue_shouldLeaveItToGenericPatch() throws Exception {
+        task.setTitle("123");
+        JsonNode patch = objectMapper.readTree("""
+                [
+                  {"op": "test", "path": "/title", "value": 123},
+                  {"op": "replace", "path": "/description", "value": "New desc"}
+                ]
+                """);
+
+        assertFalse(patchUtil.tryApply(patch, task));
+        assertEquals("Desc", task.getDescription());
+    }
+
+    @Test
+    void tryApply_objectOrArrayValue_shouldLeaveItToGenericPatch() throws Exception {
+        JsonNode objectPatch = objectMapper.readTree("[{\"op\": \"replace\", \"path\": \"/title\", \"value\": {\"text\": \"New\"}}]");
+        JsonNode arrayPatch = objectMapper.readTree("[{\"op\": \"add\", \"path\": \"/description\", \"value\": [\"New\"]}]");
+        JsonNode booleanPatch = objectMapper.readTree("[{\"op\": \"replace\", \"path\": \"/status\", \"value\": true}]");
+
+        assertFalse(patchUtil.tryApply(objectPatch, task));
+        assertFalse(patchUtil.tryApply(arrayPatch, task));
+        assertFalse(patchUtil.tryApply(booleanPatch, task));
+        assertEquals("Title", task.getTitle());
+        assertEquals("Desc", task.getDescription());
+        assertEquals(Status.TO_DO, task.getStatus());
+    }
+
+    @Test
+    void tryApply_nullValues_shouldStayOnFastPath() throws Exception {
+        task.setDescription(null);
+        JsonNode patch = objectMapper.readTree("""
+                [
+                  {"op": "test", "path": "/description", "value": null},
+                  {"op": "replace", "path": "/title", "value": null}
+                ]
+                """);
+
+        assertTrue(patchUtil.tryApply(patch, task));
+        assertNull(task.getTitle());
+    }
+
+    @Test
+    void tryApply_notAnArray_shouldThrow() throws Exception {
+        JsonNode patch = objectMapper.readTree("{\"op\": \"replace\"}");
+
+        assertThrows(JsonPatchException.class, () -> patchUtil.tryApply(patch, task));
+    }
+}
@@ -0,0 +1,40 @@
+package com.hivetech.kanban.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedUuidGeneratorTest {
+
+    @Test
+    void generate_shouldProduceVersion7RfcVariant() {
+        UUID id = TimeOrderedUuidGenerator.generate();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+    }
+
+    @Test
+    void generate_shouldEmbedCurrentTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = TimeOrderedUuidGenerator.generate();
+
+        long timestamp = id.getMostSignificantBits() >>> 16;
+
+        // the counter may borrow a few milliseconds ahead under heavy generation
+        assertTrue(timestamp >= before && timestamp <= System.currentTimeMillis() + 1000);
+    }
+
+    @Test
+    void generate_shouldBeStrictlyIncreasingInDatabaseOrder() {
+        UUID previous = TimeOrderedUuidGenerator.generate();
+        for (int i = 0; i < 100_000; i++) {
+            UUID next = TimeOrderedUuidGenerator.generate();
+            // Postgres compares uuids as unsigned bytes
+            assertTrue(Long.compareUnsigned(next.getMostSignificantBits(), previous.getMostSignificantBits()) > 0);
+            previous = next;
+        }
+    }
+}